@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Trick or treating simulated by fork/join over a list of school groups, e.g. millions of groups across many dates
+ * and zones.
+ * <p>
+ * A group collecting at most {@link #DRAWS_PER_STREAM} pieces draws exactly as {@link SchoolGroup#trickOrTreat()}
+ * does, from a {@link java.util.Random} seeded with {@link SchoolGroup#getSeed()}, and collects the same bag. A
+ * larger group cannot be counted in parallel from that single sequence, so it draws from a {@link SplittableRandom}
+ * with the same seed instead, splitting one stream off that root for each chunk of draws, in chunk order. Its candy
+ * then matches {@code trickOrTreat()} in distribution only, not piece for piece. Either way the candy a group
+ * collects depends only on its start, zone and candy count, never on the parallelism, the threshold or the other
+ * groups, and a pool of one thread computes bit for bit what a pool of many does.
+ * <p>
+ * Groups are counted into {@code long} arrays indexed by ordinal. The index range of the list is split in halves
+ * until a range holds at most {@code threshold} groups, and each left half is merged with its right half by adding
+ * the arrays, so totals are never expanded back into individual pieces of candy.
+ * <p>
+ * The groups must not change while a simulation runs.
+ */
+public class CandySimulation
+{
+    /**
+     * The most draws taken from one stream; larger groups are split into chunks of this many draws.
+     */
+    public static final long DRAWS_PER_STREAM = 1L << 20;
+
+    private static final Candy[] CANDIES = Candy.values();
+
+    private final ListIterable<SchoolGroup> groups;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public CandySimulation(ListIterable<SchoolGroup> groups, ForkJoinPool pool, int threshold)
+    {
+        if (threshold < 1)
+        {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.groups = groups;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the candy collected by all the groups together.
+     *
+     * @throws ArithmeticException if more than {@link Integer#MAX_VALUE} pieces of one candy are collected
+     */
+    public ImmutableBag<Candy> trickOrTreat()
+    {
+        return SchoolGroup.toBag(this.countCandy());
+    }
+
+    /**
+     * Returns the number of pieces of each candy collected by all the groups together, indexed by ordinal.
+     */
+    public long[] countCandy()
+    {
+        if (this.groups.isEmpty())
+        {
+            return new long[CANDIES.length];
+        }
+        return this.pool.invoke(new Groups<>(this, 0, this.groups.size(), new Totals()));
+    }
+
+    /**
+     * Returns the candy collected by each group, in the order of the groups. A group of at most
+     * {@link #DRAWS_PER_STREAM} pieces collects the same bag as {@link SchoolGroup#trickOrTreat()}.
+     */
+    public ImmutableList<Bag<Candy>> trickOrTreatEach()
+    {
+        if (this.groups.isEmpty())
+        {
+            return Lists.immutable.empty();
+        }
+        return this.pool.invoke(new Groups<>(this, 0, this.groups.size(), new EachGroup())).toImmutable();
+    }
+
+    /**
+     * Returns the number of pieces of each candy {@code group} collects, indexed by ordinal, counting its chunks of
+     * draws by fork/join when called from a task in a pool.
+     */
+    static long[] countCandy(SchoolGroup group)
+    {
+        long candyCount = group.getCandyCount();
+        if (candyCount <= DRAWS_PER_STREAM)
+        {
+            return group.countCandy();
+        }
+        SplittableRandom root = new SplittableRandom(group.getSeed());
+        int chunks = Math.toIntExact((candyCount - 1L) / DRAWS_PER_STREAM + 1L);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++)
+        {
+            streams[i] = root.split();
+        }
+        Draws draws = new Draws(streams, 0, chunks, candyCount);
+        return ForkJoinTask.inForkJoinPool() ? draws.invoke() : draws.compute();
+    }
+
+    private static void draw(SplittableRandom random, long draws, long[] counts)
+    {
+        for (long i = 0L; i < draws; i++)
+        {
+            counts[random.nextInt(SchoolGroup.CANDY_KINDS_DRAWN)]++;
+        }
+    }
+
+    private static long[] add(long[] left, long[] right)
+    {
+        for (int i = 0; i < left.length; i++)
+        {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private interface Accumulation<R>
+    {
+        R newAccumulator();
+
+        void accumulate(R accumulator, SchoolGroup group);
+
+        R merge(R left, R right);
+    }
+
+    private static final class Totals implements Accumulation<long[]>
+    {
+        @Override
+        public long[] newAccumulator()
+        {
+            return new long[CANDIES.length];
+        }
+
+        @Override
+        public void accumulate(long[] accumulator, SchoolGroup group)
+        {
+            CandySimulation.add(accumulator, CandySimulation.countCandy(group));
+        }
+
+        @Override
+        public long[] merge(long[] left, long[] right)
+        {
+            return CandySimulation.add(left, right);
+        }
+    }
+
+    private static final class EachGroup implements Accumulation<MutableList<Bag<Candy>>>
+    {
+        @Override
+        public MutableList<Bag<Candy>> newAccumulator()
+        {
+            return Lists.mutable.empty();
+        }
+
+        @Override
+        public void accumulate(MutableList<Bag<Candy>> accumulator, SchoolGroup group)
+        {
+            accumulator.add(SchoolGroup.toBag(CandySimulation.countCandy(group)));
+        }
+
+        @Override
+        public MutableList<Bag<Candy>> merge(MutableList<Bag<Candy>> left, MutableList<Bag<Candy>> right)
+        {
+            left.addAll(right);
+            return left;
+        }
+    }
+
+    private static final class Groups<R> extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient CandySimulation simulation;
+        private final int from;
+        private final int to;
+        private final transient Accumulation<R> accumulation;
+
+        private Groups(CandySimulation simulation, int from, int to, Accumulation<R> accumulation)
+        {
+            this.simulation = simulation;
+            this.from = from;
+            this.to = to;
+            this.accumulation = accumulation;
+        }
+
+        @Override
+        protected R compute()
+        {
+            if (this.to - this.from <= this.simulation.threshold)
+            {
+                R accumulator = this.accumulation.newAccumulator();
+                ListIterable<SchoolGroup> groups = this.simulation.groups;
+                for (int i = this.from; i < this.to; i++)
+                {
+                    this.accumulation.accumulate(accumulator, groups.get(i));
+                }
+                return accumulator;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Groups<R> left = new Groups<>(this.simulation, this.from, middle, this.accumulation);
+            Groups<R> right = new Groups<>(this.simulation, middle, this.to, this.accumulation);
+            left.fork();
+            R rightResult = right.compute();
+            return this.accumulation.merge(left.join(), rightResult);
+        }
+    }
+
+    /**
+     * Counts chunks {@code from} to {@code to} of one group's draws, each from its own stream. Every chunk but the
+     * last takes {@link #DRAWS_PER_STREAM} draws.
+     */
+    private static final class Draws extends RecursiveTask<long[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SplittableRandom[] streams;
+        private final int from;
+        private final int to;
+        private final long candyCount;
+
+        private Draws(SplittableRandom[] streams, int from, int to, long candyCount)
+        {
+            this.streams = streams;
+            this.from = from;
+            this.to = to;
+            this.candyCount = candyCount;
+        }
+
+        @Override
+        protected long[] compute()
+        {
+            if (this.to - this.from == 1)
+            {
+                long[] counts = new long[CANDIES.length];
+                long first = this.from * DRAWS_PER_STREAM;
+                long draws = Math.min(DRAWS_PER_STREAM, this.candyCount - first);
+                CandySimulation.draw(this.streams[this.from], draws, counts);
+                return counts;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Draws left = new Draws(this.streams, this.from, middle, this.candyCount);
+            Draws right = new Draws(this.streams, middle, this.to, this.candyCount);
+            left.fork();
+            long[] rightResult = right.compute();
+            return CandySimulation.add(left.join(), rightResult);
+        }
+    }
+}
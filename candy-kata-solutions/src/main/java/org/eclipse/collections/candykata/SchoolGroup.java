@@ -17,13 +17,14 @@ import java.time.LocalTime;
 import java.time.Month;
 import java.time.ZoneId;
 import java.util.Random;
-import java.util.stream.IntStream;
 
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
 import org.eclipse.collections.api.list.ImmutableList;
-import org.eclipse.collections.impl.collector.Collectors2;
 import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.katasupport.CollectionOperationEvent;
+import org.eclipse.collections.katasupport.EnumBag;
 
 /**
  * On Halloween, three different SchoolGroups go trick or treating at different times.
@@ -36,6 +37,11 @@ public class SchoolGroup
     private static final LocalTime MIDDLE_SCHOOL_START = ELEMENTARY_SCHOOL_START.plus(Duration.ofHours(2));
     private static final LocalTime HIGH_SCHOOL_START = MIDDLE_SCHOOL_START.plus(Duration.ofHours(2));
     private static final long CANDY_COUNT = 250L;
+    private static final Candy[] CANDIES = Candy.values();
+    /**
+     * The number of kinds of candy handed out: the first {@code CANDY_KINDS_DRAWN} by ordinal.
+     */
+    static final int CANDY_KINDS_DRAWN = CANDIES.length - 1;
 
     private static final SchoolGroup ELEMENTARY_SCHOOL =
             new SchoolGroup(HALLOWEEN.atTime(ELEMENTARY_SCHOOL_START), CANDY_COUNT);
@@ -45,26 +51,109 @@ public class SchoolGroup
             new SchoolGroup(HALLOWEEN.atTime(HIGH_SCHOOL_START), CANDY_COUNT);
 
     private LocalDateTime time;
+    private ZoneId zone;
     private long candyCount;
 
     private SchoolGroup(LocalDateTime time, long candyCount)
     {
+        this(time, NEW_YORK, candyCount);
+    }
+
+    private SchoolGroup(LocalDateTime time, ZoneId zone, long candyCount)
+    {
+        if (candyCount < 0L)
+        {
+            throw new IllegalArgumentException("Candy count must not be negative: " + candyCount);
+        }
         this.time = time;
+        this.zone = zone;
         this.candyCount = candyCount;
     }
 
+    /**
+     * Returns a group setting out at {@code time} in {@code zone} to collect {@code candyCount} pieces of candy.
+     */
+    public static SchoolGroup of(LocalDateTime time, ZoneId zone, long candyCount)
+    {
+        return new SchoolGroup(time, zone, candyCount);
+    }
+
     public static ImmutableList<SchoolGroup> all()
     {
         return Lists.immutable.with(ELEMENTARY_SCHOOL, MIDDLE_SCHOOL, HIGH_SCHOOL);
     }
 
+    /**
+     * Returns the epoch second the group sets out at, which seeds its draws.
+     */
+    public long getSeed()
+    {
+        return this.time.atZone(this.zone).toEpochSecond();
+    }
+
+    public long getCandyCount()
+    {
+        return this.candyCount;
+    }
+
+    /**
+     * Returns an immutable bag of the candy collected, drawn from a {@link Random} seeded with the group's start time.
+     * <p>
+     * The draws are counted straight into an array indexed by candy ordinal, so nothing is allocated per candy and
+     * {@code candyCount} may run into the billions; the bag is built from the counts at the end.
+     * {@code Random.nextInt(bound)} returns the same values as {@code Random.ints(0, bound)} for a bound that is not
+     * a power of two, as here, so each group collects the same candy as it always has.
+     * <p>
+     * A bag counts each candy in an {@code int}, so the supported scale is up to {@link Integer#MAX_VALUE} pieces of
+     * each of the 23 kinds drawn, about 49 billion pieces in all. Larger groups can be counted with
+     * {@link #countCandy()}.
+     *
+     * @throws ArithmeticException if a single candy is collected more than {@link Integer#MAX_VALUE} times
+     */
     public Bag<Candy> trickOrTreat()
     {
-        IntStream limit = new Random(
-                this.time.atZone(NEW_YORK).toEpochSecond())
-                .ints(0, Candy.values().length - 1)
-                .limit(this.candyCount);
-        return limit.mapToObj(i -> Candy.values()[i])
-                .collect(Collectors2.toBag());
+        return this.collectCandy();
+    }
+
+    /**
+     * Returns the same bag as {@link #trickOrTreat()}, typed as the immutable bag it is.
+     */
+    ImmutableBag<Candy> collectCandy()
+    {
+        CollectionOperationEvent event = CollectionOperationEvent.begin("SchoolGroup.trickOrTreat");
+        ImmutableBag<Candy> candy = SchoolGroup.toBag(this.countCandy());
+        event.end(candy.size());
+        return candy;
+    }
+
+    /**
+     * Returns the number of pieces of each candy {@link #trickOrTreat()} collects, indexed by ordinal. The counts are
+     * {@code long}s, so unlike the bag they have no limit per candy.
+     */
+    public long[] countCandy()
+    {
+        Random random = new Random(this.getSeed());
+        long[] counts = new long[CANDIES.length];
+        for (long i = 0L; i < this.candyCount; i++)
+        {
+            counts[random.nextInt(CANDY_KINDS_DRAWN)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns an immutable bag of the candy counted in {@code counts}, indexed by ordinal. The counts go into an
+     * {@link EnumBag}, one array write per kind, which is then copied once per distinct candy.
+     *
+     * @throws ArithmeticException if a count exceeds {@link Integer#MAX_VALUE}
+     */
+    static ImmutableBag<Candy> toBag(long[] counts)
+    {
+        EnumBag<Candy> candy = EnumBag.empty(Candy.class);
+        for (int ordinal = 0; ordinal < counts.length; ordinal++)
+        {
+            candy.addOccurrences(CANDIES[ordinal], Math.toIntExact(counts[ordinal]));
+        }
+        return candy.toImmutable();
     }
 }
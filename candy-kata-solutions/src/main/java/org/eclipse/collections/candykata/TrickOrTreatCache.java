@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.bag.ImmutableBag;
+
+/**
+ * A bounded, thread-safe memo of {@link SchoolGroup#trickOrTreat()}, which is a pure function of the group's
+ * {@link SchoolGroup#getSeed() seed} and {@link SchoolGroup#getCandyCount() candy count}, so groups agreeing on both
+ * share one entry.
+ * <p>
+ * Entries are kept in access order and the least recently used is evicted once the cache holds more than
+ * {@code maximumSize} bags. The map is guarded by the cache's monitor, but bags are drawn outside it, so a slow draw
+ * never blocks hits. Two threads missing the same key at once may both draw, and the first bag stored wins. The
+ * bags handed out are immutable and safe to share. Hits, misses and evictions are counted in {@link LongAdder}s.
+ */
+public class TrickOrTreatCache
+{
+    private final int maximumSize;
+    private final Map<Key, ImmutableBag<Candy>> bags;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TrickOrTreatCache(int maximumSize)
+    {
+        if (maximumSize < 1)
+        {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.bags = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImmutableBag<Candy>> eldest)
+            {
+                boolean evict = this.size() > TrickOrTreatCache.this.maximumSize;
+                if (evict)
+                {
+                    TrickOrTreatCache.this.evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the candy {@code group} collects, drawing it only if no group with the same seed and candy count is
+     * cached.
+     */
+    public ImmutableBag<Candy> trickOrTreat(SchoolGroup group)
+    {
+        Key key = new Key(group.getSeed(), group.getCandyCount());
+        synchronized (this)
+        {
+            ImmutableBag<Candy> cached = this.bags.get(key);
+            if (cached != null)
+            {
+                this.hits.increment();
+                return cached;
+            }
+        }
+        this.misses.increment();
+        ImmutableBag<Candy> candy = group.collectCandy();
+        synchronized (this)
+        {
+            ImmutableBag<Candy> raced = this.bags.putIfAbsent(key, candy);
+            return raced == null ? candy : raced;
+        }
+    }
+
+    public synchronized int size()
+    {
+        return this.bags.size();
+    }
+
+    public int getMaximumSize()
+    {
+        return this.maximumSize;
+    }
+
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    public long getEvictions()
+    {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache, or zero before the first lookup.
+     */
+    public double getHitRate()
+    {
+        long hits = this.hits.sum();
+        long lookups = hits + this.misses.sum();
+        return lookups == 0L ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Removes every entry, keeping the counters.
+     */
+    public synchronized void clear()
+    {
+        this.bags.clear();
+    }
+
+    public void resetMetrics()
+    {
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    private static final class Key
+    {
+        private final long seed;
+        private final long candyCount;
+
+        private Key(long seed, long candyCount)
+        {
+            this.seed = seed;
+            this.candyCount = candyCount;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+            Key key = (Key) other;
+            return this.seed == key.seed && this.candyCount == key.candyCount;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Long.hashCode(this.seed) + Long.hashCode(this.candyCount);
+        }
+    }
+}
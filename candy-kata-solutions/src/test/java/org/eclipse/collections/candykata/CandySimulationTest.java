@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class CandySimulationTest
+{
+    private static final ZoneId[] ZONES = {
+            SchoolGroup.NEW_YORK,
+            ZoneId.of("Europe/London"),
+            ZoneId.of("Asia/Tokyo"),
+            ZoneId.of("Australia/Sydney")};
+
+    @Test
+    @Tag("SOLUTION")
+    public void resultsDoNotDependOnParallelism()
+    {
+        MutableList<SchoolGroup> groups = CandySimulationTest.groups(20_000);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(8);
+        try
+        {
+            CandySimulation serial = new CandySimulation(groups, single, 20_000);
+            CandySimulation parallel = new CandySimulation(groups, many, 64);
+            CandySimulation common = new CandySimulation(groups, ForkJoinPool.commonPool(), 1);
+
+            ImmutableList<Bag<Candy>> each = serial.trickOrTreatEach();
+            Assertions.assertEquals(each, parallel.trickOrTreatEach());
+            Assertions.assertEquals(each, common.trickOrTreatEach());
+            Assertions.assertArrayEquals(serial.countCandy(), parallel.countCandy());
+            Assertions.assertArrayEquals(serial.countCandy(), common.countCandy());
+            Assertions.assertEquals(serial.trickOrTreat(), parallel.trickOrTreat());
+        }
+        finally
+        {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void totalsMergeEveryGroup()
+    {
+        MutableList<SchoolGroup> groups = CandySimulationTest.groups(1_000);
+        CandySimulation simulation = new CandySimulation(groups, ForkJoinPool.commonPool(), 16);
+
+        MutableBag<Candy> expected = Bags.mutable.empty();
+        simulation.trickOrTreatEach().forEach(expected::addAllIterable);
+        Bag<Candy> total = simulation.trickOrTreat();
+
+        Assertions.assertEquals(expected, total);
+        Assertions.assertEquals(groups.sumOfLong(SchoolGroup::getCandyCount), total.size());
+        Assertions.assertEquals(0, total.occurrencesOf(Candy.YORK_PEPPERMINT_PATTY));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void groupDependsOnlyOnItsStartAndCandyCount()
+    {
+        SchoolGroup group = SchoolGroup.of(LocalDateTime.of(2018, 10, 31, 17, 0), SchoolGroup.NEW_YORK, 250L);
+        SchoolGroup same = SchoolGroup.of(LocalDateTime.of(2018, 10, 31, 21, 0), ZoneId.of("Europe/London"), 250L);
+        SchoolGroup other = SchoolGroup.of(LocalDateTime.of(2018, 10, 31, 17, 0), ZoneId.of("Europe/London"), 250L);
+        Assertions.assertEquals(group.getSeed(), same.getSeed());
+
+        ImmutableList<Bag<Candy>> bags = new CandySimulation(
+                Lists.mutable.with(group, other, same),
+                ForkJoinPool.commonPool(),
+                1).trickOrTreatEach();
+
+        Assertions.assertEquals(bags.get(0), bags.get(2));
+        Assertions.assertNotEquals(bags.get(0), bags.get(1));
+        Assertions.assertEquals(SchoolGroup.toBag(CandySimulation.countCandy(group)), bags.get(0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void largeGroupDrawsEachChunkFromItsOwnStream()
+    {
+        long candyCount = 2L * CandySimulation.DRAWS_PER_STREAM + 5L;
+        SchoolGroup group = SchoolGroup.of(LocalDateTime.of(2019, 10, 31, 15, 0), SchoolGroup.NEW_YORK, candyCount);
+
+        SplittableRandom root = new SplittableRandom(group.getSeed());
+        long[] expected = new long[Candy.values().length];
+        for (long draws : new long[]{CandySimulation.DRAWS_PER_STREAM, CandySimulation.DRAWS_PER_STREAM, 5L})
+        {
+            SplittableRandom stream = root.split();
+            for (long i = 0L; i < draws; i++)
+            {
+                expected[stream.nextInt(SchoolGroup.CANDY_KINDS_DRAWN)]++;
+            }
+        }
+
+        Assertions.assertArrayEquals(expected, CandySimulation.countCandy(group));
+        Assertions.assertArrayEquals(
+                expected,
+                new CandySimulation(Lists.mutable.with(group), ForkJoinPool.commonPool(), 1).countCandy());
+        Assertions.assertEquals(candyCount, new CandySimulation(
+                Lists.mutable.with(group),
+                ForkJoinPool.commonPool(),
+                1).trickOrTreat().size());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void groupsWithinOneStreamCollectWhatTrickOrTreatDoes()
+    {
+        MutableList<SchoolGroup> groups = CandySimulationTest.groups(500).withAll(SchoolGroup.all());
+        CandySimulation simulation = new CandySimulation(groups, ForkJoinPool.commonPool(), 8);
+
+        Assertions.assertEquals(
+                groups.<Bag<Candy>>collect(SchoolGroup::trickOrTreat),
+                simulation.trickOrTreatEach());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void largeGroupMatchesTrickOrTreatOnlyInDistribution()
+    {
+        long candyCount = 2L * CandySimulation.DRAWS_PER_STREAM + 5L;
+        SchoolGroup group = SchoolGroup.of(LocalDateTime.of(2019, 10, 31, 15, 0), SchoolGroup.NEW_YORK, candyCount);
+
+        Bag<Candy> sequential = group.trickOrTreat();
+        Bag<Candy> simulated = new CandySimulation(
+                Lists.mutable.with(group),
+                ForkJoinPool.commonPool(),
+                1).trickOrTreatEach().getOnly();
+
+        Assertions.assertNotEquals(sequential, simulated, "split streams draw a different sequence");
+        double expected = (double) candyCount / SchoolGroup.CANDY_KINDS_DRAWN;
+        for (Bag<Candy> candy : Lists.mutable.with(sequential, simulated))
+        {
+            Assertions.assertEquals(candyCount, candy.size());
+            Assertions.assertEquals(0, candy.occurrencesOf(Candy.YORK_PEPPERMINT_PATTY));
+            Assertions.assertEquals(SchoolGroup.CANDY_KINDS_DRAWN, candy.sizeDistinct());
+            // One standard deviation is about 300 pieces, so 2%, over 6 standard deviations, never fails by chance
+            candy.forEachWithOccurrences((kind, occurrences) ->
+                    Assertions.assertEquals(expected, occurrences, expected * 0.02, kind::name));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void emptyAndInvalid()
+    {
+        CandySimulation empty = new CandySimulation(Lists.mutable.empty(), ForkJoinPool.commonPool(), 1);
+        Verify.assertEmpty(empty.trickOrTreat());
+        Verify.assertEmpty(empty.trickOrTreatEach());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new CandySimulation(Lists.mutable.empty(), ForkJoinPool.commonPool(), 0));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> SchoolGroup.of(LocalDateTime.of(2018, 10, 31, 15, 0), SchoolGroup.NEW_YORK, -1L));
+    }
+
+    private static MutableList<SchoolGroup> groups(int count)
+    {
+        LocalDateTime first = LocalDateTime.of(2000, 10, 31, 15, 0);
+        return Interval.zeroTo(count - 1).collect(i -> SchoolGroup.of(
+                first.plusYears(i % 25).plusMinutes(i / 25),
+                ZONES[i % ZONES.length],
+                100L + i % 300)).toList();
+    }
+}
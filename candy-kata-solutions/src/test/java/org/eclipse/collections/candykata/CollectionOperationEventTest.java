@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.katasupport.CollectionOperationEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CollectionOperationEventTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void trickOrTreatIsRecorded(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("candy.jfr");
+        try (Recording recording = new Recording(CollectionOperationEvent.settings()))
+        {
+            recording.start();
+            SchoolGroup.all().forEach(SchoolGroup::trickOrTreat);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Assertions.assertTrue(Lists.adapt(RecordingFile.readAllEvents(file)).anySatisfy(
+                event -> CollectionOperationEvent.NAME.equals(event.getEventType().getName())
+                        && "SchoolGroup.trickOrTreat".equals(event.getString("operation"))));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.collector.Collectors2;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class SchoolGroupTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void trickOrTreatCountsIntoAnImmutableBag()
+    {
+        SchoolGroup group = SchoolGroup.all().getFirst();
+        Bag<Candy> candy = group.trickOrTreat();
+
+        Verify.assertInstanceOf(ImmutableBag.class, candy);
+        Assertions.assertEquals(250, candy.size());
+        Assertions.assertEquals(0, candy.occurrencesOf(Candy.YORK_PEPPERMINT_PATTY));
+        Assertions.assertEquals(Bags.mutable.withAll(candy), candy);
+        Assertions.assertEquals(candy, SchoolGroup.toBag(group.countCandy()));
+        Assertions.assertEquals(250L, LongLists.mutable.with(group.countCandy()).sum());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void trickOrTreatDrawsTheSameCandyAsTheStream()
+    {
+        ZonedDateTime halloween = ZonedDateTime.of(2018, 10, 31, 15, 0, 0, 0, SchoolGroup.NEW_YORK);
+        MutableList<Bag<Candy>> expected = Lists.mutable.empty();
+        for (int group = 0; group < 3; group++)
+        {
+            long seed = halloween.plusHours(2L * group).toEpochSecond();
+            Candy[] candies = Candy.values();
+            expected.add(new Random(seed)
+                    .ints(0, candies.length - 1)
+                    .limit(250L)
+                    .mapToObj(ordinal -> candies[ordinal])
+                    .collect(Collectors2.toBag()));
+        }
+
+        Assertions.assertEquals(expected, SchoolGroup.all().collect(SchoolGroup::trickOrTreat));
+        Assertions.assertEquals(expected, SchoolGroup.all().collect(SchoolGroup::collectCandy));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void toBagCountsByOrdinal()
+    {
+        long[] counts = new long[Candy.values().length];
+        counts[Candy.CRUNCH.ordinal()] = 3L;
+        counts[Candy.TWIX.ordinal()] = 1L;
+
+        MutableBag<Candy> expected = Bags.mutable.with(Candy.CRUNCH, Candy.CRUNCH, Candy.CRUNCH, Candy.TWIX);
+        Assertions.assertEquals(expected, SchoolGroup.toBag(counts));
+        Assertions.assertEquals(Bags.immutable.empty(), SchoolGroup.toBag(new long[Candy.values().length]));
+
+        counts[Candy.TWIX.ordinal()] = Integer.MAX_VALUE + 1L;
+        Assertions.assertThrows(ArithmeticException.class, () -> SchoolGroup.toBag(counts));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021 The Bank of New York Mellon.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.candykata;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class TrickOrTreatCacheTest
+{
+    private static final LocalDateTime FIVE_PM = LocalDateTime.of(2018, 10, 31, 17, 0);
+
+    @Test
+    @Tag("SOLUTION")
+    public void hitsShareTheImmutableBag()
+    {
+        TrickOrTreatCache cache = new TrickOrTreatCache(10);
+        SchoolGroup middleSchool = SchoolGroup.all().get(1);
+
+        ImmutableBag<Candy> first = cache.trickOrTreat(middleSchool);
+        ImmutableBag<Candy> second = cache.trickOrTreat(middleSchool);
+        ImmutableBag<Candy> sameStart = cache.trickOrTreat(
+                SchoolGroup.of(FIVE_PM.plusHours(4L), ZoneId.of("Europe/London"), 250L));
+
+        Assertions.assertEquals(middleSchool.trickOrTreat(), first);
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first, sameStart);
+        Assertions.assertEquals(1L, cache.getMisses());
+        Assertions.assertEquals(2L, cache.getHits());
+        Assertions.assertEquals(2.0 / 3.0, cache.getHitRate(), 1.0e-9);
+        Assertions.assertEquals(1, cache.size());
+
+        ImmutableBag<Candy> moreCandy = cache.trickOrTreat(SchoolGroup.of(FIVE_PM, SchoolGroup.NEW_YORK, 251L));
+        Assertions.assertEquals(251, moreCandy.size());
+        Assertions.assertEquals(2L, cache.getMisses());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void collectsWhatEveryGroupCollects()
+    {
+        TrickOrTreatCache cache = new TrickOrTreatCache(16);
+        ImmutableList<SchoolGroup> groups = SchoolGroup.all();
+
+        Assertions.assertEquals(
+                groups.collect(SchoolGroup::trickOrTreat),
+                groups.<Bag<Candy>>collect(cache::trickOrTreat));
+        Assertions.assertEquals(
+                groups.collect(SchoolGroup::trickOrTreat),
+                groups.<Bag<Candy>>collect(cache::trickOrTreat));
+        Assertions.assertEquals(3L, cache.getMisses());
+        Assertions.assertEquals(3L, cache.getHits());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void evictsTheLeastRecentlyUsed()
+    {
+        TrickOrTreatCache cache = new TrickOrTreatCache(2);
+        ImmutableList<SchoolGroup> groups = SchoolGroup.all();
+
+        cache.trickOrTreat(groups.get(0));
+        cache.trickOrTreat(groups.get(1));
+        cache.trickOrTreat(groups.get(0));
+        cache.trickOrTreat(groups.get(2));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getEvictions());
+        cache.trickOrTreat(groups.get(0));
+        Assertions.assertEquals(2L, cache.getHits());
+        cache.trickOrTreat(groups.get(1));
+        Assertions.assertEquals(4L, cache.getMisses());
+
+        cache.clear();
+        cache.resetMetrics();
+        Verify.assertEmpty(cache.trickOrTreat(SchoolGroup.of(FIVE_PM, SchoolGroup.NEW_YORK, 0L)));
+        Assertions.assertEquals(1L, cache.getMisses());
+        Assertions.assertEquals(0L, cache.getEvictions());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TrickOrTreatCache(0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void concurrentLookupsAgree()
+    {
+        TrickOrTreatCache cache = new TrickOrTreatCache(16);
+        ImmutableList<SchoolGroup> groups = Interval.zeroTo(31)
+                .collect(i -> SchoolGroup.of(FIVE_PM.plusMinutes(i % 8), SchoolGroup.NEW_YORK, 250L))
+                .toImmutableList();
+
+        ImmutableList<Bag<Candy>> expected = groups.collect(SchoolGroup::trickOrTreat);
+        ImmutableList<Bag<Candy>> actual = ForkJoinPool.commonPool().submit(
+                () -> groups.asParallel(ForkJoinPool.commonPool(), 1)
+                        .<Bag<Candy>>collect(cache::trickOrTreat)
+                        .toList()
+                        .toImmutable())
+                .join();
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(8, cache.size());
+        Assertions.assertEquals(32L, cache.getHits() + cache.getMisses());
+        Assertions.assertTrue(cache.getMisses() >= 8L);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * A sample that keeps each element independently with a fixed {@code probability}, so its size is not bounded but
+ * samples of disjoint inputs {@link #merge(BernoulliSample) merge} by concatenation. Sums are estimated with the
+ * Horvitz-Thompson estimator.
+ */
+public final class BernoulliSample<T>
+{
+    private final double probability;
+    private final SplittableRandom random;
+    private final MutableList<T> sample = Lists.mutable.empty();
+    private long seen;
+
+    public BernoulliSample(double probability, long seed)
+    {
+        if (!(probability > 0.0 && probability <= 1.0))
+        {
+            throw new IllegalArgumentException("probability must be in (0, 1]: " + probability);
+        }
+        this.probability = probability;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static <T> BernoulliSample<T> of(Iterable<T> items, double probability, long seed)
+    {
+        BernoulliSample<T> sample = new BernoulliSample<>(probability, seed);
+        sample.addAll(items);
+        return sample;
+    }
+
+    public void add(T item)
+    {
+        this.seen++;
+        if (this.random.nextDouble() < this.probability)
+        {
+            this.sample.add(item);
+        }
+    }
+
+    public void addAll(Iterable<? extends T> items)
+    {
+        for (T item : items)
+        {
+            this.add(item);
+        }
+    }
+
+    /**
+     * Adds the sample of a disjoint input taken with the same probability.
+     */
+    public BernoulliSample<T> merge(BernoulliSample<? extends T> other)
+    {
+        if (Double.compare(this.probability, other.probability) != 0)
+        {
+            throw new IllegalArgumentException(
+                    "Cannot merge samples of probability " + this.probability + " and " + other.probability);
+        }
+        this.seen += other.seen;
+        this.sample.addAll(other.sample);
+        return this;
+    }
+
+    public double getProbability()
+    {
+        return this.probability;
+    }
+
+    public long getSeen()
+    {
+        return this.seen;
+    }
+
+    public int size()
+    {
+        return this.sample.size();
+    }
+
+    public ImmutableList<T> getSample()
+    {
+        return this.sample.toImmutable();
+    }
+
+    /**
+     * Estimates the sum of {@code function} over all elements seen.
+     */
+    public SampleEstimate estimateSum(DoubleFunction<? super T> function)
+    {
+        double sum = 0.0;
+        double squares = 0.0;
+        for (int i = 0; i < this.sample.size(); i++)
+        {
+            double value = function.doubleValueOf(this.sample.get(i));
+            sum += value;
+            squares += value * value;
+        }
+        double variance = (1.0 - this.probability) / (this.probability * this.probability) * squares;
+        return new SampleEstimate(sum / this.probability, Math.sqrt(variance));
+    }
+
+    /**
+     * Estimates how many elements seen satisfy {@code predicate}.
+     */
+    public SampleEstimate estimateCount(Predicate<? super T> predicate)
+    {
+        return this.estimateSum(each -> predicate.accept(each) ? 1.0 : 0.0);
+    }
+}
@@ -12,6 +12,7 @@ package org.eclipse.collections.companykata;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.IntFunction;
 
@@ -21,6 +22,7 @@ import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.list.mutable.ArrayListAdapter;
 import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.katasupport.CollectionOperationEvent;
 import org.junit.jupiter.api.Assertions;
 
 /**
@@ -29,8 +31,8 @@ import org.junit.jupiter.api.Assertions;
 public class Company
 {
     private final String name;
-    private final MutableList<Customer> customers = Lists.mutable.empty();
-    private final MutableList<Supplier> suppliers = Lists.mutable.empty();
+    private final FastList<Customer> customers = FastList.newList();
+    private final FastList<Supplier> suppliers = FastList.newList();
 
     public Company(String name)
     {
@@ -47,6 +49,19 @@ public class Company
         this.customers.add(aCustomer);
     }
 
+    /**
+     * Adds all the customers. When they are a {@link Collection} the backing list grows at most once; any other
+     * {@link Iterable} is read only once, so it is added without presizing.
+     */
+    public void addCustomers(Iterable<Customer> newCustomers)
+    {
+        if (newCustomers instanceof Collection)
+        {
+            this.customers.ensureCapacity(this.customers.size() + ((Collection<?>) newCustomers).size());
+        }
+        this.customers.addAllIterable(newCustomers);
+    }
+
     public MutableList<Customer> getCustomers()
     {
         return this.customers;
@@ -59,7 +74,12 @@ public class Company
      */
     public MutableList<Order> getOrders()
     {
-        return this.customers.flatCollect(Customer::getOrders);
+        long start = CompanyMetrics.start();
+        CollectionOperationEvent event = CollectionOperationEvent.begin("Company.getOrders");
+        MutableList<Order> orders = this.customers.flatCollect(Customer::getOrders);
+        event.end(orders.size());
+        CompanyMetrics.stop(CompanyMetrics.Operation.GET_ORDERS, start);
+        return orders;
     }
 
     public Customer getMostRecentCustomer()
@@ -77,6 +97,19 @@ public class Company
 
     }
 
+    /**
+     * Adds all the suppliers. When they are a {@link Collection} the backing list grows at most once; any other
+     * {@link Iterable} is read only once, so it is added without presizing.
+     */
+    public void addSuppliers(Iterable<Supplier> newSuppliers)
+    {
+        if (newSuppliers instanceof Collection)
+        {
+            this.suppliers.ensureCapacity(this.suppliers.size() + ((Collection<?>) newSuppliers).size());
+        }
+        this.suppliers.addAllIterable(newSuppliers);
+    }
+
     public MutableList<Supplier> getSuppliers()
     {
         return this.suppliers;
@@ -89,6 +122,9 @@ public class Company
      */
     public Customer getCustomerNamed(String name)
     {
-        return this.customers.detect(customer -> customer.getName().equals(name));
+        long start = CompanyMetrics.start();
+        Customer customer = this.customers.detect(each -> each.getName().equals(name));
+        CompanyMetrics.stop(CompanyMetrics.Operation.GET_CUSTOMER_NAMED, start);
+        return customer;
     }
 }
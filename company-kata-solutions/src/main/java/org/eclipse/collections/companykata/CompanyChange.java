@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.nio.file.Path;
+
+/**
+ * The kinds of delta written by {@link CompanyChangeWriter} and applied by {@link CompanyReplica}. The ordinal is the
+ * type byte of a record, so constants may only be appended.
+ */
+enum CompanyChange
+{
+    ADD_CUSTOMER,
+    ADD_ORDER,
+    ADD_LINE_ITEM,
+    DELIVER;
+
+    private static final CompanyChange[] VALUES = CompanyChange.values();
+
+    static CompanyChange ofType(byte type)
+    {
+        if (type < 0 || type >= VALUES.length)
+        {
+            throw new IllegalStateException("Unknown change type " + type);
+        }
+        return VALUES[type];
+    }
+
+    static Path file(Path directory, int index)
+    {
+        return directory.resolve(String.format("changes-%08d.log", index));
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Sets;
+
+/**
+ * Applies changes to a {@link Company} and records each one as a delta in a directory of rotating change files, so
+ * that {@link CompanyReplica}s, possibly in other JVMs, can follow the company without reloading it.
+ * <p>
+ * The files are named {@code changes-00000001.log}, {@code changes-00000002.log} and so on. Each delta is a
+ * length-prefixed record holding a sequence number, a {@link CompanyChange} type and its payload. Records are
+ * encoded in memory and then appended, so a reader sees complete records followed at most by a short tail it can
+ * retry. When a file grows past {@code maxBytesPerFile} the next delta starts a new file; a file is never written
+ * again once the next one exists. Orders are identified by this JVM's {@link Order#getOrderNumber() order numbers}
+ * and customers by name, so customer names must be unique; a duplicate is rejected before it is added.
+ * <p>
+ * {@link #open(Company, Path, long)} first records the company's current customers, orders, line items and
+ * deliveries, so a replica starting from an empty directory catches up with the full state. All changes must go
+ * through this writer to be replicated. Its methods are synchronized.
+ */
+public final class CompanyChangeWriter implements Closeable
+{
+    private final Company company;
+    private final Path directory;
+    private final long maxBytesPerFile;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(this.bytes);
+    private final MutableSet<String> customerNames = Sets.mutable.empty();
+    private FileChannel channel;
+    private int fileIndex;
+    private long sequence;
+
+    private CompanyChangeWriter(Company company, Path directory, long maxBytesPerFile)
+    {
+        if (maxBytesPerFile < 1L)
+        {
+            throw new IllegalArgumentException("maxBytesPerFile must be positive: " + maxBytesPerFile);
+        }
+        this.company = company;
+        this.directory = directory;
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+
+    /**
+     * Starts a change log for {@code company} in {@code directory}, which should be empty, beginning with deltas
+     * that rebuild the company's current state.
+     *
+     * @throws IllegalArgumentException if two of the company's customers have the same name
+     */
+    public static CompanyChangeWriter open(Company company, Path directory, long maxBytesPerFile)
+    {
+        CompanyChangeWriter writer = new CompanyChangeWriter(company, directory, maxBytesPerFile);
+        synchronized (writer)
+        {
+            company.getCustomers().forEach(writer::reserveName);
+            company.getCustomers().forEach(customer ->
+            {
+                writer.recordCustomer(customer);
+                customer.getOrders().forEach(order -> writer.recordOrder(customer, order));
+            });
+        }
+        return writer;
+    }
+
+    public Company getCompany()
+    {
+        return this.company;
+    }
+
+    /**
+     * Returns the sequence number of the last recorded delta, or 0 if none was recorded.
+     */
+    public synchronized long getSequence()
+    {
+        return this.sequence;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a customer with the same name was already added
+     */
+    public synchronized void addCustomer(Customer customer)
+    {
+        this.reserveName(customer);
+        this.company.addCustomer(customer);
+        this.recordCustomer(customer);
+    }
+
+    /**
+     * Adds {@code order} to {@code customer}, recording it with the line items it already holds and its delivery.
+     */
+    public synchronized void addOrder(Customer customer, Order order)
+    {
+        customer.addOrder(order);
+        this.recordOrder(customer, order);
+    }
+
+    public synchronized void addLineItem(Order order, LineItem lineItem)
+    {
+        order.addLineItem(lineItem);
+        this.recordLineItem(order, lineItem, 1);
+    }
+
+    public synchronized void deliver(Order order)
+    {
+        order.deliver();
+        this.recordDelivery(order);
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (this.channel != null)
+        {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private void reserveName(Customer customer)
+    {
+        if (!this.customerNames.add(customer.getName()))
+        {
+            throw new IllegalArgumentException("Customer names must be unique: " + customer.getName());
+        }
+    }
+
+    private void recordCustomer(Customer customer)
+    {
+        try
+        {
+            this.startRecord(CompanyChange.ADD_CUSTOMER);
+            RecordCodec.writeString(this.record, customer.getName());
+            RecordCodec.writeString(this.record, customer.getCity());
+            this.endRecord();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recordOrder(Customer customer, Order order)
+    {
+        try
+        {
+            this.startRecord(CompanyChange.ADD_ORDER);
+            RecordCodec.writeString(this.record, customer.getName());
+            this.record.writeInt(order.getOrderNumber());
+            this.endRecord();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        order.getLineItems().forEachWithOccurrences((lineItem, occurrences) ->
+                this.recordLineItem(order, lineItem, occurrences));
+        if (order.isDelivered())
+        {
+            this.recordDelivery(order);
+        }
+    }
+
+    private void recordLineItem(Order order, LineItem lineItem, int occurrences)
+    {
+        try
+        {
+            this.startRecord(CompanyChange.ADD_LINE_ITEM);
+            this.record.writeInt(order.getOrderNumber());
+            RecordCodec.writeString(this.record, lineItem.getName());
+            this.record.writeDouble(lineItem.getValue());
+            this.record.writeInt(occurrences);
+            this.endRecord();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recordDelivery(Order order)
+    {
+        try
+        {
+            this.startRecord(CompanyChange.DELIVER);
+            this.record.writeInt(order.getOrderNumber());
+            this.endRecord();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void startRecord(CompanyChange type) throws IOException
+    {
+        this.bytes.reset();
+        this.record.writeInt(0);
+        this.record.writeLong(this.sequence + 1);
+        this.record.writeByte(type.ordinal());
+    }
+
+    private void endRecord() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(this.bytes.toByteArray());
+        buffer.putInt(0, buffer.remaining() - Integer.BYTES);
+        FileChannel file = this.channelFor(buffer.remaining());
+        while (buffer.hasRemaining())
+        {
+            file.write(buffer);
+        }
+        this.sequence++;
+    }
+
+    private FileChannel channelFor(int recordSize) throws IOException
+    {
+        if (this.channel != null && this.channel.position() > 0L
+                && this.channel.position() + recordSize > this.maxBytesPerFile)
+        {
+            this.channel.close();
+            this.channel = null;
+        }
+        if (this.channel == null)
+        {
+            this.fileIndex++;
+            this.channel = FileChannel.open(
+                    CompanyChange.file(this.directory, this.fileIndex),
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+        }
+        return this.channel;
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
+
+/**
+ * Call counters and latency histograms for the hot paths of the company domain, such as
+ * {@link Company#getCustomerNamed(String)} and {@link Order#getValue()}.
+ * <p>
+ * Metrics are off unless the {@code companykata.metrics} system property is {@code true} or {@link #enable()} is
+ * called. While off, an instrumented method pays one volatile read and a branch. Counters are striped
+ * {@link LongAdder}s and latencies go to a {@link LatencyHistogram} whose buckets are striped too, so recording from
+ * many threads does not contend on a single field.
+ */
+public final class CompanyMetrics
+{
+    public enum Operation
+    {
+        GET_CUSTOMER_NAMED("company.getCustomerNamed"),
+        GET_ORDERS("company.getOrders"),
+        ORDER_VALUE("order.getValue"),
+        CUSTOMER_TOTAL_ORDER_VALUE("customer.getTotalOrderValue");
+
+        private final String metricName;
+
+        Operation(String metricName)
+        {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName()
+        {
+            return this.metricName;
+        }
+    }
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final LongAdder[] CALLS = new LongAdder[OPERATIONS.length];
+    private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[OPERATIONS.length];
+
+    private static volatile boolean enabled = Boolean.getBoolean("companykata.metrics");
+
+    static
+    {
+        for (int i = 0; i < OPERATIONS.length; i++)
+        {
+            CALLS[i] = new LongAdder();
+            LATENCIES[i] = new LatencyHistogram();
+        }
+    }
+
+    private CompanyMetrics()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    public static void enable()
+    {
+        enabled = true;
+    }
+
+    public static void disable()
+    {
+        enabled = false;
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void reset()
+    {
+        for (int i = 0; i < OPERATIONS.length; i++)
+        {
+            CALLS[i].reset();
+            LATENCIES[i].reset();
+        }
+    }
+
+    /**
+     * Returns a start time to pass to {@link #stop(Operation, long)}, or a marker meaning "not timed" when metrics are
+     * off.
+     */
+    static long start()
+    {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    static void stop(Operation operation, long start)
+    {
+        if (start != NOT_TIMED)
+        {
+            CALLS[operation.ordinal()].increment();
+            LATENCIES[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static long getCalls(Operation operation)
+    {
+        return CALLS[operation.ordinal()].sum();
+    }
+
+    public static LatencyHistogram getLatencies(Operation operation)
+    {
+        return LATENCIES[operation.ordinal()];
+    }
+
+    public static Snapshot snapshot()
+    {
+        return new Snapshot(ArrayAdapter.adapt(OPERATIONS).collect(OperationStats::new).toImmutable());
+    }
+
+    /**
+     * The values of all metrics at one point in time, exportable as text or JSON.
+     */
+    public static final class Snapshot
+    {
+        private final ImmutableList<OperationStats> stats;
+
+        private Snapshot(ImmutableList<OperationStats> stats)
+        {
+            this.stats = stats;
+        }
+
+        public ImmutableList<OperationStats> getStats()
+        {
+            return this.stats;
+        }
+
+        public OperationStats get(Operation operation)
+        {
+            return this.stats.get(operation.ordinal());
+        }
+
+        /**
+         * Appends one line per operation: name, calls, total, mean, p50, p99 and max latency in nanoseconds.
+         */
+        public void appendText(Appendable out) throws IOException
+        {
+            for (OperationStats each : this.stats)
+            {
+                out.append(each.operation.getMetricName())
+                        .append(" calls=").append(Long.toString(each.calls))
+                        .append(" totalNanos=").append(Long.toString(each.totalNanos))
+                        .append(" meanNanos=").append(Long.toString(each.getMeanNanos()))
+                        .append(" p50Nanos=").append(Long.toString(each.p50Nanos))
+                        .append(" p99Nanos=").append(Long.toString(each.p99Nanos))
+                        .append(" maxNanos=").append(Long.toString(each.maxNanos))
+                        .append('\n');
+            }
+        }
+
+        /**
+         * Appends a single JSON object keyed by metric name.
+         */
+        public void appendJson(Appendable out) throws IOException
+        {
+            out.append('{');
+            for (int i = 0; i < this.stats.size(); i++)
+            {
+                OperationStats each = this.stats.get(i);
+                if (i > 0)
+                {
+                    out.append(',');
+                }
+                out.append('"').append(each.operation.getMetricName()).append("\":{")
+                        .append("\"calls\":").append(Long.toString(each.calls))
+                        .append(",\"totalNanos\":").append(Long.toString(each.totalNanos))
+                        .append(",\"meanNanos\":").append(Long.toString(each.getMeanNanos()))
+                        .append(",\"p50Nanos\":").append(Long.toString(each.p50Nanos))
+                        .append(",\"p99Nanos\":").append(Long.toString(each.p99Nanos))
+                        .append(",\"maxNanos\":").append(Long.toString(each.maxNanos))
+                        .append('}');
+            }
+            out.append("}\n");
+        }
+
+        public void writeText(Path file) throws IOException
+        {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+            {
+                this.appendText(writer);
+            }
+        }
+
+        public void writeJson(Path file) throws IOException
+        {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+            {
+                this.appendJson(writer);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder();
+            try
+            {
+                this.appendText(builder);
+            }
+            catch (IOException e)
+            {
+                throw new AssertionError(e);
+            }
+            return builder.toString();
+        }
+    }
+
+    public static final class OperationStats
+    {
+        private final Operation operation;
+        private final long calls;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        private OperationStats(Operation operation)
+        {
+            LatencyHistogram latencies = LATENCIES[operation.ordinal()];
+            this.operation = operation;
+            this.calls = CALLS[operation.ordinal()].sum();
+            this.totalNanos = latencies.getTotalNanos();
+            this.p50Nanos = latencies.getPercentileNanos(50.0);
+            this.p99Nanos = latencies.getPercentileNanos(99.0);
+            this.maxNanos = latencies.getMaxNanos();
+        }
+
+        public Operation getOperation()
+        {
+            return this.operation;
+        }
+
+        public long getCalls()
+        {
+            return this.calls;
+        }
+
+        public long getTotalNanos()
+        {
+            return this.totalNanos;
+        }
+
+        public long getMeanNanos()
+        {
+            return this.calls == 0L ? 0L : this.totalNanos / this.calls;
+        }
+
+        public long getP50Nanos()
+        {
+            return this.p50Nanos;
+        }
+
+        public long getP99Nanos()
+        {
+            return this.p99Nanos;
+        }
+
+        public long getMaxNanos()
+        {
+            return this.maxNanos;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectDoubleMaps;
+
+/**
+ * A read replica of a {@link Company} that follows the change files of a {@link CompanyChangeWriter}, typically in
+ * another JVM.
+ * <p>
+ * Each {@link #poll()} applies every complete delta written since the previous poll, moving on to the next file once
+ * the writer has rotated. Besides the replicated company the replica keeps customers by name, orders by the writer's
+ * order number, and the total order value overall and per customer up to date as deltas arrive, so those queries
+ * never iterate the company. {@link #follow(ScheduledExecutorService, Duration)} polls on a schedule; a period well
+ * under a second keeps the replica within a second of the writer.
+ * <p>
+ * All methods are synchronized. The replicated {@link #getCompany() company} is mutated by polls, so it should only
+ * be read between polls on the polling thread, or through the indexed queries here.
+ */
+public final class CompanyReplica implements Closeable
+{
+    private final Path directory;
+    private final Company company;
+    private final MutableMap<String, Customer> customersByName = Maps.mutable.empty();
+    private final MutableIntObjectMap<Order> ordersByNumber = IntObjectMaps.mutable.empty();
+    private final MutableIntObjectMap<Customer> customersByOrderNumber = IntObjectMaps.mutable.empty();
+    private final MutableObjectDoubleMap<String> totalOrderValueByCustomer = ObjectDoubleMaps.mutable.empty();
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+    private ByteBuffer body = ByteBuffer.allocate(256);
+    private double totalOrderValue;
+    private int deliveredOrderCount;
+    private FileChannel channel;
+    private int fileIndex = 1;
+    private long position;
+    private long sequence;
+
+    public CompanyReplica(String companyName, Path directory)
+    {
+        this.company = new Company(companyName);
+        this.directory = directory;
+    }
+
+    /**
+     * Applies all complete deltas written since the last poll and returns how many were applied.
+     */
+    public synchronized int poll()
+    {
+        try
+        {
+            int applied = 0;
+            while (true)
+            {
+                if (this.channel == null)
+                {
+                    Path file = CompanyChange.file(this.directory, this.fileIndex);
+                    if (!Files.exists(file))
+                    {
+                        return applied;
+                    }
+                    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+                    this.position = 0L;
+                }
+                if (this.applyNext())
+                {
+                    applied++;
+                }
+                else if (Files.exists(CompanyChange.file(this.directory, this.fileIndex + 1)))
+                {
+                    // The current file is complete once the next one exists, but may have grown since it was read
+                    if (!this.applyNext())
+                    {
+                        this.channel.close();
+                        this.channel = null;
+                        this.fileIndex++;
+                    }
+                    else
+                    {
+                        applied++;
+                    }
+                }
+                else
+                {
+                    return applied;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Polls every {@code period} on {@code executor} until the returned future is cancelled.
+     */
+    public ScheduledFuture<?> follow(ScheduledExecutorService executor, Duration period)
+    {
+        return executor.scheduleWithFixedDelay(this::poll, 0L, period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public Company getCompany()
+    {
+        return this.company;
+    }
+
+    /**
+     * Returns the sequence number of the last applied delta, or 0 if none was applied.
+     */
+    public synchronized long getSequence()
+    {
+        return this.sequence;
+    }
+
+    public synchronized Customer getCustomerNamed(String name)
+    {
+        return this.customersByName.get(name);
+    }
+
+    /**
+     * Returns the replicated order with the writer's {@code orderNumber}, or null.
+     */
+    public synchronized Order getOrder(int orderNumber)
+    {
+        return this.ordersByNumber.get(orderNumber);
+    }
+
+    public synchronized double getTotalOrderValue()
+    {
+        return this.totalOrderValue;
+    }
+
+    public synchronized double getTotalOrderValue(String customerName)
+    {
+        return this.totalOrderValueByCustomer.get(customerName);
+    }
+
+    public synchronized int getDeliveredOrderCount()
+    {
+        return this.deliveredOrderCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (this.channel != null)
+        {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private boolean applyNext() throws IOException
+    {
+        long size = this.channel.size();
+        if (this.position + Integer.BYTES > size)
+        {
+            return false;
+        }
+        this.header.clear();
+        this.readFully(this.header, this.position);
+        int length = this.header.getInt(0);
+        if (this.position + Integer.BYTES + length > size)
+        {
+            return false;
+        }
+        if (this.body.capacity() < length)
+        {
+            this.body = ByteBuffer.allocate(Math.max(length, this.body.capacity() * 2));
+        }
+        this.body.clear().limit(length);
+        this.readFully(this.body, this.position + Integer.BYTES);
+        this.apply(new DataInputStream(new ByteArrayInputStream(this.body.array(), 0, length)));
+        this.position += Integer.BYTES + length;
+        return true;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException
+    {
+        long current = offset;
+        while (buffer.hasRemaining())
+        {
+            int read = this.channel.read(buffer, current);
+            if (read < 0)
+            {
+                throw new IllegalStateException("Change file truncated at " + current);
+            }
+            current += read;
+        }
+    }
+
+    private void apply(DataInputStream in) throws IOException
+    {
+        long next = in.readLong();
+        if (next != this.sequence + 1)
+        {
+            throw new IllegalStateException("Expected change " + (this.sequence + 1) + " but found " + next);
+        }
+        switch (CompanyChange.ofType(in.readByte()))
+        {
+            case ADD_CUSTOMER:
+                Customer customer = new Customer(RecordCodec.readString(in), RecordCodec.readString(in));
+                this.company.addCustomer(customer);
+                this.customersByName.put(customer.getName(), customer);
+                break;
+            case ADD_ORDER:
+                Customer owner = this.customersByName.get(RecordCodec.readString(in));
+                int orderNumber = in.readInt();
+                Order order = new Order(orderNumber);
+                owner.addOrder(order);
+                this.ordersByNumber.put(orderNumber, order);
+                this.customersByOrderNumber.put(orderNumber, owner);
+                break;
+            case ADD_LINE_ITEM:
+                int lineItemOrderNumber = in.readInt();
+                LineItem lineItem = new LineItem(RecordCodec.readString(in), in.readDouble());
+                int occurrences = in.readInt();
+                this.ordersByNumber.get(lineItemOrderNumber).addLineItems(lineItem, occurrences);
+                double value = lineItem.getValue() * occurrences;
+                this.totalOrderValue += value;
+                this.totalOrderValueByCustomer.addToValue(
+                        this.customersByOrderNumber.get(lineItemOrderNumber).getName(),
+                        value);
+                break;
+            case DELIVER:
+                Order delivered = this.ordersByNumber.get(in.readInt());
+                if (!delivered.isDelivered())
+                {
+                    delivered.deliver();
+                    this.deliveredOrderCount++;
+                }
+                break;
+            default:
+                throw new AssertionError();
+        }
+        this.sequence = next;
+    }
+}
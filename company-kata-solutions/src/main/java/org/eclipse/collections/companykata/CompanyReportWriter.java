@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.MutableList;
+
+/**
+ * Streams {@link Company} reports to an {@link Appendable} or a {@link WritableByteChannel} one row at a time, so an
+ * export never holds the whole report as a single {@link String} the way {@code makeString} does.
+ * <p>
+ * Two reports are supported: one row per {@link Customer} (name, city, order count, total order value) and one row
+ * per {@link Order} (customer name, order number, line item count, value, delivered). Each can be written as
+ * {@link Format#DELIMITED delimited} text, {@link Format#CSV CSV} with a header line, or {@link Format#JSON_LINES
+ * JSON lines}.
+ * <p>
+ * A writer keeps reusable buffers and is not thread-safe; use one writer per export. The parallel methods render
+ * chunks of customers on the given {@link Executor} and still emit them in the original order.
+ */
+public class CompanyReportWriter
+{
+    private static final String[] CUSTOMER_COLUMNS = {"name", "city", "orderCount", "totalOrderValue"};
+    private static final String[] ORDER_COLUMNS = {"customer", "orderNumber", "lineItemCount", "value", "delivered"};
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
+
+    public enum Format
+    {
+        DELIMITED, CSV, JSON_LINES
+    }
+
+    private final Format format;
+    private final char delimiter;
+    private final StringBuilder scratch = new StringBuilder(32);
+    private ChannelAppendable channelAppendable;
+
+    private CompanyReportWriter(Format format, char delimiter)
+    {
+        this.format = format;
+        this.delimiter = delimiter;
+    }
+
+    public static CompanyReportWriter delimited(char delimiter)
+    {
+        return new CompanyReportWriter(Format.DELIMITED, delimiter);
+    }
+
+    public static CompanyReportWriter csv()
+    {
+        return new CompanyReportWriter(Format.CSV, ',');
+    }
+
+    public static CompanyReportWriter jsonLines()
+    {
+        return new CompanyReportWriter(Format.JSON_LINES, ',');
+    }
+
+    public Format getFormat()
+    {
+        return this.format;
+    }
+
+    public void writeCustomers(Company company, Appendable out) throws IOException
+    {
+        this.writeHeader(CUSTOMER_COLUMNS, out);
+        for (Customer customer : company.getCustomers())
+        {
+            this.writeCustomer(customer, out);
+        }
+    }
+
+    public void writeOrders(Company company, Appendable out) throws IOException
+    {
+        this.writeHeader(ORDER_COLUMNS, out);
+        for (Customer customer : company.getCustomers())
+        {
+            this.writeOrdersOf(customer, out);
+        }
+    }
+
+    public void writeCustomers(Company company, WritableByteChannel channel) throws IOException
+    {
+        ChannelAppendable out = this.channelAppendable(channel);
+        this.writeCustomers(company, out);
+        out.flush();
+    }
+
+    public void writeOrders(Company company, WritableByteChannel channel) throws IOException
+    {
+        ChannelAppendable out = this.channelAppendable(channel);
+        this.writeOrders(company, out);
+        out.flush();
+    }
+
+    /**
+     * Renders chunks of {@code chunkSize} customers on the {@code executor} and appends them to {@code out} in
+     * customer order. At most {@code maxChunksInFlight} rendered chunks are held in memory at any time.
+     */
+    public void writeCustomersInParallel(
+            Company company,
+            Appendable out,
+            int chunkSize,
+            int maxChunksInFlight,
+            Executor executor) throws IOException
+    {
+        this.writeHeader(CUSTOMER_COLUMNS, out);
+        this.writeInParallel(company.getCustomers(), out, chunkSize, maxChunksInFlight, executor, false);
+    }
+
+    /**
+     * Same as {@link #writeCustomersInParallel(Company, Appendable, int, int, Executor)} for the order report.
+     */
+    public void writeOrdersInParallel(
+            Company company,
+            Appendable out,
+            int chunkSize,
+            int maxChunksInFlight,
+            Executor executor) throws IOException
+    {
+        this.writeHeader(ORDER_COLUMNS, out);
+        this.writeInParallel(company.getCustomers(), out, chunkSize, maxChunksInFlight, executor, true);
+    }
+
+    private void writeInParallel(
+            MutableList<Customer> customers,
+            Appendable out,
+            int chunkSize,
+            int maxChunksInFlight,
+            Executor executor,
+            boolean orders) throws IOException
+    {
+        if (chunkSize < 1 || maxChunksInFlight < 1)
+        {
+            throw new IllegalArgumentException(
+                    "chunkSize and maxChunksInFlight must be positive: " + chunkSize + ", " + maxChunksInFlight);
+        }
+        ArrayDeque<CompletableFuture<StringBuilder>> inFlight = new ArrayDeque<>(maxChunksInFlight);
+        for (RichIterable<Customer> chunk : customers.chunk(chunkSize))
+        {
+            if (inFlight.size() == maxChunksInFlight)
+            {
+                out.append(inFlight.removeFirst().join());
+            }
+            inFlight.addLast(CompletableFuture.supplyAsync(() -> this.renderChunk(chunk, orders), executor));
+        }
+        while (!inFlight.isEmpty())
+        {
+            out.append(inFlight.removeFirst().join());
+        }
+    }
+
+    private StringBuilder renderChunk(RichIterable<Customer> chunk, boolean orders)
+    {
+        // Each chunk gets its own writer so the scratch buffer is never shared between threads
+        CompanyReportWriter chunkWriter = new CompanyReportWriter(this.format, this.delimiter);
+        StringBuilder builder = new StringBuilder(chunk.size() * 64);
+        try
+        {
+            for (Customer customer : chunk)
+            {
+                if (orders)
+                {
+                    chunkWriter.writeOrdersOf(customer, builder);
+                }
+                else
+                {
+                    chunkWriter.writeCustomer(customer, builder);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return builder;
+    }
+
+    private void writeCustomer(Customer customer, Appendable out) throws IOException
+    {
+        this.beginRow(out);
+        this.writeText(CUSTOMER_COLUMNS, 0, customer.getName(), out);
+        this.writeText(CUSTOMER_COLUMNS, 1, customer.getCity(), out);
+        this.writeLiteral(CUSTOMER_COLUMNS, 2, this.scratch().append(customer.getOrders().size()), out);
+        this.writeLiteral(CUSTOMER_COLUMNS, 3, this.scratch().append(customer.getTotalOrderValue()), out);
+        this.endRow(out);
+    }
+
+    private void writeOrdersOf(Customer customer, Appendable out) throws IOException
+    {
+        for (Order order : customer.getOrders())
+        {
+            this.beginRow(out);
+            this.writeText(ORDER_COLUMNS, 0, customer.getName(), out);
+            this.writeLiteral(ORDER_COLUMNS, 1, this.scratch().append(order.getOrderNumber()), out);
+            this.writeLiteral(ORDER_COLUMNS, 2, this.scratch().append(order.getLineItems().size()), out);
+            this.writeLiteral(ORDER_COLUMNS, 3, this.scratch().append(order.getValue()), out);
+            this.writeLiteral(ORDER_COLUMNS, 4, this.scratch().append(order.isDelivered()), out);
+            this.endRow(out);
+        }
+    }
+
+    private StringBuilder scratch()
+    {
+        this.scratch.setLength(0);
+        return this.scratch;
+    }
+
+    private void writeHeader(String[] columns, Appendable out) throws IOException
+    {
+        if (this.format != Format.CSV)
+        {
+            return;
+        }
+        for (int i = 0; i < columns.length; i++)
+        {
+            if (i > 0)
+            {
+                out.append(this.delimiter);
+            }
+            out.append(columns[i]);
+        }
+        out.append('\n');
+    }
+
+    private void beginRow(Appendable out) throws IOException
+    {
+        if (this.format == Format.JSON_LINES)
+        {
+            out.append('{');
+        }
+    }
+
+    private void endRow(Appendable out) throws IOException
+    {
+        if (this.format == Format.JSON_LINES)
+        {
+            out.append('}');
+        }
+        out.append('\n');
+    }
+
+    private void writeFieldPrefix(String[] columns, int index, Appendable out) throws IOException
+    {
+        if (index > 0)
+        {
+            out.append(this.delimiter);
+        }
+        if (this.format == Format.JSON_LINES)
+        {
+            out.append('"').append(columns[index]).append("\":");
+        }
+    }
+
+    private void writeLiteral(String[] columns, int index, CharSequence value, Appendable out) throws IOException
+    {
+        this.writeFieldPrefix(columns, index, out);
+        out.append(value);
+    }
+
+    private void writeText(String[] columns, int index, String value, Appendable out) throws IOException
+    {
+        this.writeFieldPrefix(columns, index, out);
+        switch (this.format)
+        {
+            case CSV:
+                this.writeCsvText(value, out);
+                break;
+            case JSON_LINES:
+                this.writeJsonText(value, out);
+                break;
+            default:
+                out.append(value);
+        }
+    }
+
+    private void writeCsvText(String value, Appendable out) throws IOException
+    {
+        if (!this.needsCsvQuoting(value))
+        {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"')
+            {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private boolean needsCsvQuoting(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == this.delimiter || c == '"' || c == '\n' || c == '\r')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeJsonText(String value, Appendable out) throws IOException
+    {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            switch (c)
+            {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                    {
+                        out.append("\\u00");
+                        out.append(Character.forDigit(c >> 4, 16));
+                        out.append(Character.forDigit(c & 0xF, 16));
+                    }
+                    else
+                    {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private ChannelAppendable channelAppendable(WritableByteChannel channel)
+    {
+        if (this.channelAppendable == null)
+        {
+            this.channelAppendable = new ChannelAppendable();
+        }
+        this.channelAppendable.channel = channel;
+        return this.channelAppendable;
+    }
+
+    /**
+     * Encodes appended characters as UTF-8 into a reusable {@link ByteBuffer} and drains it to the channel whenever
+     * the character buffer fills up.
+     */
+    private static final class ChannelAppendable implements Appendable, Flushable
+    {
+        private final CharBuffer chars = CharBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE * 4);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private WritableByteChannel channel;
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException
+        {
+            return this.append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException
+        {
+            for (int i = start; i < end; i++)
+            {
+                this.append(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException
+        {
+            // Keep room for the low half of a surrogate pair so pairs are never split across an encode call
+            if (this.chars.remaining() == 1 && Character.isHighSurrogate(c) || !this.chars.hasRemaining())
+            {
+                this.drain(false);
+            }
+            this.chars.put(c);
+            return this;
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            this.drain(true);
+            this.encoder.reset();
+        }
+
+        private void drain(boolean endOfInput) throws IOException
+        {
+            this.chars.flip();
+            CoderResult result = this.encoder.encode(this.chars, this.bytes, endOfInput);
+            if (result.isError())
+            {
+                result.throwException();
+            }
+            if (endOfInput)
+            {
+                this.encoder.flush(this.bytes);
+            }
+            this.bytes.flip();
+            while (this.bytes.hasRemaining())
+            {
+                this.channel.write(this.bytes);
+            }
+            this.bytes.clear();
+            this.chars.compact();
+        }
+    }
+}
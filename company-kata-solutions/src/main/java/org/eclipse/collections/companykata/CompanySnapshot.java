@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.impl.utility.LazyIterate;
+
+/**
+ * A point-in-time, read-only view of a {@link VersionedCompany}. Creating one copies nothing, and holding one keeps
+ * only the storage it can see reachable. Safe to use from any thread.
+ */
+public final class CompanySnapshot
+{
+    private final VersionedCompany company;
+    private final long version;
+    private final VersionedAppendList.View<Customer> customers;
+
+    CompanySnapshot(VersionedCompany company, long version, VersionedAppendList.View<Customer> customers)
+    {
+        this.company = company;
+        this.version = version;
+        this.customers = customers;
+    }
+
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    public int getCustomerCount()
+    {
+        return this.customers.size();
+    }
+
+    public LazyIterable<Customer> getCustomers()
+    {
+        return LazyIterate.adapt(this.customers);
+    }
+
+    public LazyIterable<Order> getOrders(Customer customer)
+    {
+        return LazyIterate.adapt(this.company.ordersAt(customer, this.version));
+    }
+
+    public LazyIterable<Order> getOrders()
+    {
+        return this.getCustomers().flatCollect(this::getOrders);
+    }
+
+    public double getTotalOrderValue(Customer customer)
+    {
+        return this.getOrders(customer).sumOfDouble(Order::getValue);
+    }
+
+    public Customer getCustomerNamed(String name)
+    {
+        return this.getCustomers().detect(customer -> customer.getName().equals(name));
+    }
+}
@@ -10,9 +10,11 @@
 
 package org.eclipse.collections.companykata;
 
-import org.eclipse.collections.api.factory.Lists;
+import java.util.Collection;
+
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.block.function.AddFunction;
+import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.utility.ListIterate;
 
 /**
@@ -23,7 +25,7 @@ public class Customer
     private final String name;
     private final String city;
 
-    private final MutableList<Order> orders = Lists.mutable.empty();
+    private final FastList<Order> orders = FastList.newList();
 
     public Customer(String name, String city)
     {
@@ -51,9 +53,25 @@ public class Customer
         this.orders.add(anOrder);
     }
 
+    /**
+     * Adds all the orders. When they are a {@link Collection} the backing list grows at most once; any other
+     * {@link Iterable} is read only once, so it is added without presizing.
+     */
+    public void addOrders(Iterable<Order> newOrders)
+    {
+        if (newOrders instanceof Collection)
+        {
+            this.orders.ensureCapacity(this.orders.size() + ((Collection<?>) newOrders).size());
+        }
+        this.orders.addAllIterable(newOrders);
+    }
+
     public double getTotalOrderValue()
     {
-        return this.orders.sumOfDouble(Order::getValue);
+        long start = CompanyMetrics.start();
+        double value = this.orders.sumOfDouble(Order::getValue);
+        CompanyMetrics.stop(CompanyMetrics.Operation.CUSTOMER_TOTAL_ORDER_VALUE, start);
+        return value;
     }
 
     public boolean livesIn(String aCity)
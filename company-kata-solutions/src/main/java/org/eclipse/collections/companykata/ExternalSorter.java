@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Sorts {@link LineItem}s and {@link Order}s that do not fit on heap with an external merge sort.
+ * <p>
+ * Input is read in runs of at most {@code maxRecordsPerRun} elements. Each run is sorted on heap and written to a
+ * memory-mapped temp file. When sorting by value, each element's {@code double} key is computed once as it is read,
+ * written before the element, and read back from the run while merging, so it is never recomputed for a comparison.
+ * The runs are merged through a binary heap of run ids. Heap use is bounded by one run while sorting and by one
+ * decoded element per run while merging. Equal keys keep their input order.
+ * <p>
+ * Orders are serialized with their number, delivery flag and line items, and the sorted orders are copies.
+ */
+public final class ExternalSorter
+{
+    private static final Comparator<LineItem> LINE_ITEMS_BY_NAME = Comparator.comparing(LineItem::getName);
+
+    private final Path directory;
+    private final int maxRecordsPerRun;
+
+    public ExternalSorter(Path directory, int maxRecordsPerRun)
+    {
+        if (maxRecordsPerRun < 1)
+        {
+            throw new IllegalArgumentException("maxRecordsPerRun must be positive: " + maxRecordsPerRun);
+        }
+        this.directory = directory;
+        this.maxRecordsPerRun = maxRecordsPerRun;
+    }
+
+    public SortedIterator<LineItem> sortLineItemsByValue(Iterable<LineItem> lineItems)
+    {
+        return this.sort(lineItems.iterator(), LineItemCodec.INSTANCE, null, LineItem::getValue);
+    }
+
+    public SortedIterator<LineItem> sortLineItemsByName(Iterable<LineItem> lineItems)
+    {
+        return this.sort(lineItems.iterator(), LineItemCodec.INSTANCE, LINE_ITEMS_BY_NAME, null);
+    }
+
+    public SortedIterator<Order> sortOrdersByValue(Iterable<Order> orders)
+    {
+        return this.sort(orders.iterator(), OrderCodec.INSTANCE, null, Order::getValue);
+    }
+
+    /**
+     * Sorts by {@code numericKey} if it is not null, otherwise by {@code comparator}.
+     */
+    private <T> SortedIterator<T> sort(
+            Iterator<T> input,
+            Codec<T> codec,
+            Comparator<? super T> comparator,
+            DoubleFunction<? super T> numericKey)
+    {
+        MutableList<Path> runs = Lists.mutable.empty();
+        try
+        {
+            MutableList<Record<T>> buffer = Lists.mutable.empty();
+            while (input.hasNext())
+            {
+                T element = input.next();
+                buffer.add(new Record<>(element, numericKey == null ? 0.0 : numericKey.doubleValueOf(element)));
+                if (buffer.size() == this.maxRecordsPerRun || !input.hasNext())
+                {
+                    runs.add(this.writeRun(buffer, codec, comparator, numericKey != null));
+                    buffer.clear();
+                }
+            }
+            return new SortedIterator<>(runs, codec, comparator, numericKey != null);
+        }
+        catch (IOException e)
+        {
+            deleteAll(runs);
+            throw new UncheckedIOException(e);
+        }
+        catch (RuntimeException e)
+        {
+            deleteAll(runs);
+            throw e;
+        }
+    }
+
+    private <T> Path writeRun(
+            MutableList<Record<T>> buffer,
+            Codec<T> codec,
+            Comparator<? super T> comparator,
+            boolean numeric) throws IOException
+    {
+        if (numeric)
+        {
+            buffer.sortThis((left, right) -> Double.compare(left.key, right.key));
+        }
+        else
+        {
+            buffer.sortThis((left, right) -> comparator.compare(left.element, right.element));
+        }
+        int keySize = numeric ? Double.BYTES : 0;
+        long size = buffer.sumOfLong(record -> keySize + codec.sizeOf(record.element));
+        Path run = Files.createTempFile(this.directory, "run-", ".sorted");
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+            buffer.forEach(record ->
+            {
+                if (numeric)
+                {
+                    mapped.putDouble(record.key);
+                }
+                codec.write(mapped, record.element);
+            });
+            mapped.force();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        return run;
+    }
+
+    private static void deleteAll(MutableList<Path> runs)
+    {
+        runs.forEach(run ->
+        {
+            try
+            {
+                Files.deleteIfExists(run);
+            }
+            catch (IOException ignored)
+            {
+                // Temp files left behind are cleaned up with the temp directory
+            }
+        });
+    }
+
+    private static final class Record<T>
+    {
+        private final T element;
+        private final double key;
+
+        private Record(T element, double key)
+        {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private interface Codec<T>
+    {
+        int sizeOf(T element);
+
+        void write(ByteBuffer buffer, T element);
+
+        T read(ByteBuffer buffer);
+    }
+
+    private enum LineItemCodec implements Codec<LineItem>
+    {
+        INSTANCE;
+
+        @Override
+        public int sizeOf(LineItem lineItem)
+        {
+            return Double.BYTES + Integer.BYTES + lineItem.getName().getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, LineItem lineItem)
+        {
+            byte[] name = lineItem.getName().getBytes(StandardCharsets.UTF_8);
+            buffer.putDouble(lineItem.getValue());
+            buffer.putInt(name.length);
+            buffer.put(name);
+        }
+
+        @Override
+        public LineItem read(ByteBuffer buffer)
+        {
+            double value = buffer.getDouble();
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            return new LineItem(new String(name, StandardCharsets.UTF_8), value);
+        }
+    }
+
+    /**
+     * Writes an order as its number, its delivery flag and each distinct line item with its occurrences.
+     */
+    private enum OrderCodec implements Codec<Order>
+    {
+        INSTANCE;
+
+        @Override
+        public int sizeOf(Order order)
+        {
+            int[] size = {Integer.BYTES + 1 + Integer.BYTES};
+            order.getLineItems().forEachWithOccurrences((lineItem, occurrences) ->
+                    size[0] += LineItemCodec.INSTANCE.sizeOf(lineItem) + Integer.BYTES);
+            return size[0];
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, Order order)
+        {
+            buffer.putInt(order.getOrderNumber());
+            buffer.put(order.isDelivered() ? (byte) 1 : (byte) 0);
+            buffer.putInt(order.getLineItems().sizeDistinct());
+            order.getLineItems().forEachWithOccurrences((lineItem, occurrences) ->
+            {
+                LineItemCodec.INSTANCE.write(buffer, lineItem);
+                buffer.putInt(occurrences);
+            });
+        }
+
+        @Override
+        public Order read(ByteBuffer buffer)
+        {
+            Order order = new Order(buffer.getInt());
+            if (buffer.get() != 0)
+            {
+                order.deliver();
+            }
+            int distinct = buffer.getInt();
+            for (int i = 0; i < distinct; i++)
+            {
+                LineItem lineItem = LineItemCodec.INSTANCE.read(buffer);
+                order.addLineItems(lineItem, buffer.getInt());
+            }
+            return order;
+        }
+    }
+
+    /**
+     * Iterates the merged runs in sorted order. Closing it deletes the run files; it also closes itself once
+     * exhausted.
+     */
+    public static final class SortedIterator<T> implements Iterator<T>, AutoCloseable
+    {
+        private final MutableList<Path> runs;
+        private final Codec<T> codec;
+        private final Comparator<? super T> comparator;
+        private final boolean numeric;
+        private final ByteBuffer[] buffers;
+        private final Object[] current;
+        private final double[] keys;
+        private final int[] heap;
+        private int heapSize;
+
+        private SortedIterator(
+                MutableList<Path> runs,
+                Codec<T> codec,
+                Comparator<? super T> comparator,
+                boolean numeric) throws IOException
+        {
+            this.runs = runs;
+            this.codec = codec;
+            this.comparator = comparator;
+            this.numeric = numeric;
+            this.buffers = new ByteBuffer[runs.size()];
+            this.current = new Object[runs.size()];
+            this.keys = new double[runs.size()];
+            this.heap = new int[runs.size()];
+            for (int run = 0; run < runs.size(); run++)
+            {
+                try (FileChannel channel = FileChannel.open(runs.get(run), StandardOpenOption.READ))
+                {
+                    this.buffers[run] = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+                }
+                if (this.advance(run))
+                {
+                    this.push(run);
+                }
+            }
+            if (this.heapSize == 0)
+            {
+                this.close();
+            }
+        }
+
+        public int getRunCount()
+        {
+            return this.runs.size();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.heapSize > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next()
+        {
+            if (this.heapSize == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            int run = this.heap[0];
+            T next = (T) this.current[run];
+            if (this.advance(run))
+            {
+                this.siftDown(0);
+            }
+            else
+            {
+                this.heap[0] = this.heap[--this.heapSize];
+                this.siftDown(0);
+                if (this.heapSize == 0)
+                {
+                    this.close();
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public void close()
+        {
+            this.heapSize = 0;
+            Arrays.fill(this.buffers, null);
+            Arrays.fill(this.current, null);
+            deleteAll(this.runs);
+        }
+
+        private boolean advance(int run)
+        {
+            ByteBuffer buffer = this.buffers[run];
+            if (!buffer.hasRemaining())
+            {
+                this.current[run] = null;
+                return false;
+            }
+            if (this.numeric)
+            {
+                this.keys[run] = buffer.getDouble();
+            }
+            this.current[run] = this.codec.read(buffer);
+            return true;
+        }
+
+        private void push(int run)
+        {
+            int index = this.heapSize++;
+            this.heap[index] = run;
+            while (index > 0)
+            {
+                int parent = (index - 1) >>> 1;
+                if (!this.less(this.heap[index], this.heap[parent]))
+                {
+                    break;
+                }
+                this.swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index)
+        {
+            while (true)
+            {
+                int left = 2 * index + 1;
+                if (left >= this.heapSize)
+                {
+                    return;
+                }
+                int smallest = left;
+                int right = left + 1;
+                if (right < this.heapSize && this.less(this.heap[right], this.heap[left]))
+                {
+                    smallest = right;
+                }
+                if (!this.less(this.heap[smallest], this.heap[index]))
+                {
+                    return;
+                }
+                this.swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        /**
+         * Orders runs by their current element, then by run id so that equal keys come out in input order.
+         */
+        @SuppressWarnings("unchecked")
+        private boolean less(int run1, int run2)
+        {
+            int result = this.numeric
+                    ? Double.compare(this.keys[run1], this.keys[run2])
+                    : this.comparator.compare((T) this.current[run1], (T) this.current[run2]);
+            return result < 0 || result == 0 && run1 < run2;
+        }
+
+        private void swap(int index1, int index2)
+        {
+            int run = this.heap[index1];
+            this.heap[index1] = this.heap[index2];
+            this.heap[index2] = run;
+        }
+    }
+}
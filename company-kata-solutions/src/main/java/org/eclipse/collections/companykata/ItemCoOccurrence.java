@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.api.tuple.primitive.ObjectLongPair;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLongMaps;
+import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.eclipse.collections.impl.factory.primitive.LongLongMaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+
+/**
+ * A sparse item &times; item matrix counting how many {@link Order}s contain both items of a pair, answering
+ * "items frequently bought together" questions such as cup + saucer.
+ * <p>
+ * Item names are mapped to dense int ids and each unordered pair of ids is packed into a single {@code long} key,
+ * so counting never boxes a pair. An item appearing several times in one order counts once for that order.
+ * <p>
+ * {@link #fromOrdersInParallel(ListIterable, int, Executor)} builds one partial matrix per batch of orders, each
+ * with its own local item ids, and merges them into the result at the end. Further orders can be added with
+ * {@link #addOrder(Order)}; all public methods are synchronized so updates and queries may come from different
+ * threads.
+ */
+public class ItemCoOccurrence
+{
+    private static final Comparator<ObjectLongPair<String>> BY_COUNT_THEN_NAME =
+            Comparator.<ObjectLongPair<String>>comparingLong(ObjectLongPair::getTwo)
+                    .reversed()
+                    .thenComparing(ObjectLongPair::getOne);
+
+    private final MutableObjectIntMap<String> itemIds = ObjectIntMaps.mutable.empty();
+    private final MutableList<String> itemNames = Lists.mutable.empty();
+    private final MutableIntLongMap ordersByItem = IntLongMaps.mutable.empty();
+    private final MutableLongLongMap pairCounts = LongLongMaps.mutable.empty();
+    private final MutableIntObjectMap<MutableIntSet> partners = IntObjectMaps.mutable.empty();
+    private long orderCount;
+
+    public static ItemCoOccurrence fromOrders(RichIterable<Order> orders)
+    {
+        ItemCoOccurrence matrix = new ItemCoOccurrence();
+        orders.forEach(matrix::addOrder);
+        return matrix;
+    }
+
+    /**
+     * Counts each batch of {@code batchSize} orders into its own partial matrix on the {@code executor}, then merges
+     * the partial matrices in batch order.
+     */
+    public static ItemCoOccurrence fromOrdersInParallel(ListIterable<Order> orders, int batchSize, Executor executor)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        MutableList<CompletableFuture<ItemCoOccurrence>> partials = Lists.mutable.empty();
+        for (RichIterable<Order> batch : orders.chunk(batchSize))
+        {
+            partials.add(CompletableFuture.supplyAsync(() -> ItemCoOccurrence.fromOrders(batch), executor));
+        }
+        ItemCoOccurrence result = new ItemCoOccurrence();
+        partials.forEach(partial -> result.merge(partial.join()));
+        return result;
+    }
+
+    public synchronized void addOrder(Order order)
+    {
+        int[] ids = order.getLineItems()
+                .asLazy()
+                .collect(LineItem::getName)
+                .distinct()
+                .collectInt(this::idOf)
+                .toSortedArray();
+        for (int i = 0; i < ids.length; i++)
+        {
+            this.ordersByItem.addToValue(ids[i], 1L);
+            for (int j = i + 1; j < ids.length; j++)
+            {
+                this.addPair(ids[i], ids[j], 1L);
+            }
+        }
+        this.orderCount++;
+    }
+
+    /**
+     * Adds all counts from {@code other} to this matrix, translating the other matrix's item ids to ids of this one.
+     * <p>
+     * The other matrix is copied under its own lock and the copy is applied under this one, so the two locks are
+     * never held together and concurrent {@code a.merge(b)} and {@code b.merge(a)} cannot deadlock.
+     */
+    public void merge(ItemCoOccurrence other)
+    {
+        this.mergeCopy(other.copy());
+    }
+
+    private synchronized void mergeCopy(ItemCoOccurrence other)
+    {
+        int[] translated = new int[other.itemNames.size()];
+        other.itemNames.forEachWithIndex((name, otherId) -> translated[otherId] = this.idOf(name));
+        other.ordersByItem.forEachKeyValue((otherId, count) ->
+                this.ordersByItem.addToValue(translated[otherId], count));
+        other.pairCounts.forEachKeyValue((pair, count) ->
+                this.addPair(translated[first(pair)], translated[second(pair)], count));
+        this.orderCount += other.orderCount;
+    }
+
+    /**
+     * Returns a copy of the item names and counts, without the partner index, for {@link #merge(ItemCoOccurrence)}.
+     */
+    private synchronized ItemCoOccurrence copy()
+    {
+        ItemCoOccurrence copy = new ItemCoOccurrence();
+        copy.itemNames.addAll(this.itemNames);
+        copy.ordersByItem.putAll(this.ordersByItem);
+        copy.pairCounts.putAll(this.pairCounts);
+        copy.orderCount = this.orderCount;
+        return copy;
+    }
+
+    public synchronized long getOrderCount()
+    {
+        return this.orderCount;
+    }
+
+    public synchronized int getItemCount()
+    {
+        return this.itemNames.size();
+    }
+
+    /**
+     * Returns the number of orders containing {@code itemName}.
+     */
+    public synchronized long ordersContaining(String itemName)
+    {
+        int id = this.itemIds.getIfAbsent(itemName, -1);
+        return id < 0 ? 0L : this.ordersByItem.get(id);
+    }
+
+    /**
+     * Returns the number of orders containing both items. The count for an item with itself is
+     * {@link #ordersContaining(String)}.
+     */
+    public synchronized long countOf(String itemName1, String itemName2)
+    {
+        int id1 = this.itemIds.getIfAbsent(itemName1, -1);
+        int id2 = this.itemIds.getIfAbsent(itemName2, -1);
+        if (id1 < 0 || id2 < 0)
+        {
+            return 0L;
+        }
+        if (id1 == id2)
+        {
+            return this.ordersByItem.get(id1);
+        }
+        return this.pairCounts.get(pack(id1, id2));
+    }
+
+    /**
+     * Returns up to {@code n} items most often bought together with {@code itemName}, with their co-occurrence
+     * counts, highest count first and ties broken by item name.
+     */
+    public synchronized ListIterable<ObjectLongPair<String>> topPartners(String itemName, int n)
+    {
+        int id = this.itemIds.getIfAbsent(itemName, -1);
+        MutableIntSet partnerIds = id < 0 ? null : this.partners.get(id);
+        if (partnerIds == null || n <= 0)
+        {
+            return Lists.immutable.empty();
+        }
+        return partnerIds
+                .collect(partnerId -> PrimitiveTuples.pair(
+                        this.itemNames.get(partnerId),
+                        this.pairCounts.get(pack(id, partnerId))), Lists.mutable.<ObjectLongPair<String>>empty())
+                .sortThis(BY_COUNT_THEN_NAME)
+                .take(n)
+                .toImmutable();
+    }
+
+    private int idOf(String itemName)
+    {
+        return this.itemIds.getIfAbsentPut(itemName, () ->
+        {
+            this.itemNames.add(itemName);
+            return this.itemNames.size() - 1;
+        });
+    }
+
+    private void addPair(int id1, int id2, long count)
+    {
+        if (this.pairCounts.addToValue(pack(id1, id2), count) == count)
+        {
+            this.partners.getIfAbsentPut(id1, IntSets.mutable::empty).add(id2);
+            this.partners.getIfAbsentPut(id2, IntSets.mutable::empty).add(id1);
+        }
+    }
+
+    /**
+     * Packs an unordered pair of non-negative ids into one key, smaller id in the high half.
+     */
+    static long pack(int id1, int id2)
+    {
+        int low = Math.min(id1, id2);
+        int high = Math.max(id1, id2);
+        return (long) low << 32 | high;
+    }
+
+    static int first(long pair)
+    {
+        return (int) (pair >>> 32);
+    }
+
+    static int second(long pair)
+    {
+        return (int) pair;
+    }
+}
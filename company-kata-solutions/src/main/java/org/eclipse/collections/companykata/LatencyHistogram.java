@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of nanosecond latencies with one bucket per power of two, so recording is a
+ * {@link Long#numberOfLeadingZeros(long)} and one increment. Bucket {@code i} counts latencies in
+ * {@code [2^(i-1), 2^i)} nanoseconds; bucket 0 counts zero.
+ * <p>
+ * Every bucket is a {@link LongAdder}, which spreads increments from contending threads over cells of their own, so
+ * threads timing the same operation do not all update the same cache line. Reads sum the cells and are not an
+ * atomic snapshot while recording continues.
+ */
+public final class LatencyHistogram
+{
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos)
+    {
+        long clamped = Math.max(0L, nanos);
+        this.counts[Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(clamped))].increment();
+        this.totalNanos.add(clamped);
+        this.maxNanos.accumulate(clamped);
+    }
+
+    public long getCount()
+    {
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            count += this.counts[i].sum();
+        }
+        return count;
+    }
+
+    public long getTotalNanos()
+    {
+        return this.totalNanos.sum();
+    }
+
+    public long getMaxNanos()
+    {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Returns an upper bound for the latency at {@code percentile} (0 to 100), accurate to a factor of two.
+     */
+    public long getPercentileNanos(double percentile)
+    {
+        long[] snapshot = this.bucketCounts();
+        long count = 0L;
+        for (long bucketCount : snapshot)
+        {
+            count += bucketCount;
+        }
+        if (count == 0L)
+        {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += snapshot[i];
+            if (seen >= rank)
+            {
+                return Math.min(upperBoundOf(i), this.getMaxNanos());
+            }
+        }
+        return this.getMaxNanos();
+    }
+
+    long[] bucketCounts()
+    {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            snapshot[i] = this.counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            this.counts[i].reset();
+        }
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+
+    private static long upperBoundOf(int bucket)
+    {
+        return bucket == 0 ? 0L : bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1L;
+    }
+}
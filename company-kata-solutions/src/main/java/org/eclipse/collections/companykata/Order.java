@@ -38,6 +38,20 @@ public class Order
         this.orderNumber = NEXT_ORDER_NUMBER.getAndIncrement();
     }
 
+    /**
+     * Recreates an order that already has a number, such as one read back by {@link ExternalSorter}, without taking
+     * the next order number.
+     */
+    Order(int orderNumber)
+    {
+        this.orderNumber = orderNumber;
+    }
+
+    public int getOrderNumber()
+    {
+        return this.orderNumber;
+    }
+
     public static void resetNextOrderNumber()
     {
         NEXT_ORDER_NUMBER.set(1);
@@ -63,6 +77,16 @@ public class Order
         this.lineItems.addOccurrences(item, count);
     }
 
+    /**
+     * Adds every distinct line item of {@code items} with its number of occurrences: one insertion into the sorted bag
+     * per distinct line item, rather than one per occurrence. This is not a merge of two sorted bags; each distinct
+     * line item is still located in the tree on its own.
+     */
+    public void addLineItems(Bag<LineItem> items)
+    {
+        items.forEachWithOccurrences(this.lineItems::addOccurrences);
+    }
+
     public Bag<LineItem> getLineItems()
     {
         return this.lineItems;
@@ -79,7 +103,10 @@ public class Order
      */
     public double getValue()
     {
-        return this.lineItems.sumOfDouble(LineItem::getValue);
+        long start = CompanyMetrics.start();
+        double value = this.lineItems.sumOfDouble(LineItem::getValue);
+        CompanyMetrics.stop(CompanyMetrics.Operation.ORDER_VALUE, start);
+        return value;
     }
 
     public boolean containsItemNamed(String itemName)
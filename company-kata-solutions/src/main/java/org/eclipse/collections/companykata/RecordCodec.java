@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes elements to a {@link DataOutput} and reads them back, so {@link SpillingAggregation} can spill them to disk.
+ * A codec reads back a copy of each element, not the element itself.
+ */
+public interface RecordCodec<T>
+{
+    RecordCodec<LineItem> LINE_ITEMS = new RecordCodec<LineItem>()
+    {
+        @Override
+        public void write(DataOutput out, LineItem lineItem) throws IOException
+        {
+            RecordCodec.writeString(out, lineItem.getName());
+            out.writeDouble(lineItem.getValue());
+        }
+
+        @Override
+        public LineItem read(DataInput in) throws IOException
+        {
+            return new LineItem(RecordCodec.readString(in), in.readDouble());
+        }
+    };
+
+    void write(DataOutput out, T element) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Writes {@code string} as its UTF-8 length followed by its UTF-8 bytes. Unlike {@link DataOutput#writeUTF(String)}
+     * there is no 64KB limit.
+     */
+    static void writeString(DataOutput out, String string) throws IOException
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException
+    {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * A uniform random sample of at most {@code capacity} elements, taken without replacement in a single pass.
+ * <p>
+ * Every element seen gets a random key and the sample keeps the elements with the smallest keys in a max-heap, so an
+ * element is kept with probability {@code capacity / seen}. Because the kept keys are the smallest of the whole
+ * input, two samples of disjoint inputs {@link #merge(ReservoirSample) merge} into exactly the sample of their
+ * union, which is how {@link #ofInParallel(ListIterable, int, int, long, Executor)} works. Samples that are merged
+ * must be created with different seeds.
+ */
+public final class ReservoirSample<T>
+{
+    private final int capacity;
+    private final SplittableRandom random;
+    private final double[] keys;
+    private final Object[] elements;
+    private int size;
+    private long seen;
+
+    public ReservoirSample(int capacity, long seed)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.random = new SplittableRandom(seed);
+        this.keys = new double[capacity];
+        this.elements = new Object[capacity];
+    }
+
+    public static <T> ReservoirSample<T> of(Iterable<T> items, int capacity, long seed)
+    {
+        ReservoirSample<T> sample = new ReservoirSample<>(capacity, seed);
+        sample.addAll(items);
+        return sample;
+    }
+
+    /**
+     * Samples each batch of {@code batchSize} items on the {@code executor} with a seed derived from {@code seed},
+     * then merges the partial samples.
+     */
+    public static <T> ReservoirSample<T> ofInParallel(
+            ListIterable<T> items,
+            int capacity,
+            int batchSize,
+            long seed,
+            Executor executor)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        SplittableRandom seeds = new SplittableRandom(seed);
+        MutableList<CompletableFuture<ReservoirSample<T>>> partials = Lists.mutable.empty();
+        for (RichIterable<T> batch : items.chunk(batchSize))
+        {
+            long batchSeed = seeds.nextLong();
+            partials.add(CompletableFuture.supplyAsync(() -> ReservoirSample.of(batch, capacity, batchSeed), executor));
+        }
+        ReservoirSample<T> result = new ReservoirSample<>(capacity, seeds.nextLong());
+        partials.forEach(partial -> result.merge(partial.join()));
+        return result;
+    }
+
+    public void add(T item)
+    {
+        this.seen++;
+        this.offer(this.random.nextDouble(), item);
+    }
+
+    public void addAll(Iterable<? extends T> items)
+    {
+        for (T item : items)
+        {
+            this.add(item);
+        }
+    }
+
+    /**
+     * Adds the sample of a disjoint input to this one, leaving the sample {@code this} would hold after seeing both
+     * inputs.
+     */
+    public ReservoirSample<T> merge(ReservoirSample<? extends T> other)
+    {
+        this.seen += other.seen;
+        for (int i = 0; i < other.size; i++)
+        {
+            this.offer(other.keys[i], other.elements[i]);
+        }
+        return this;
+    }
+
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Returns how many elements were offered to this sample, including merged ones.
+     */
+    public long getSeen()
+    {
+        return this.seen;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public ImmutableList<T> getSample()
+    {
+        MutableList<T> sample = Lists.mutable.withInitialCapacity(this.size);
+        for (int i = 0; i < this.size; i++)
+        {
+            sample.add((T) this.elements[i]);
+        }
+        return sample.toImmutable();
+    }
+
+    /**
+     * Estimates the mean of {@code function} over all elements seen.
+     */
+    public SampleEstimate estimateMean(DoubleFunction<? super T> function)
+    {
+        if (this.size == 0)
+        {
+            return new SampleEstimate(Double.NaN, Double.NaN);
+        }
+        double mean = 0.0;
+        double squares = 0.0;
+        for (int i = 0; i < this.size; i++)
+        {
+            double value = this.valueAt(i, function);
+            double delta = value - mean;
+            mean += delta / (i + 1);
+            squares += delta * (value - mean);
+        }
+        if (this.size == this.seen)
+        {
+            return new SampleEstimate(mean, 0.0);
+        }
+        double variance = this.size > 1 ? squares / (this.size - 1) : Double.NaN;
+        double finitePopulation = 1.0 - (double) this.size / this.seen;
+        return new SampleEstimate(mean, Math.sqrt(finitePopulation * variance / this.size));
+    }
+
+    /**
+     * Estimates the sum of {@code function} over all elements seen.
+     */
+    public SampleEstimate estimateSum(DoubleFunction<? super T> function)
+    {
+        if (this.seen == 0L)
+        {
+            return new SampleEstimate(0.0, 0.0);
+        }
+        SampleEstimate mean = this.estimateMean(function);
+        return new SampleEstimate(mean.getValue() * this.seen, mean.getStandardError() * this.seen);
+    }
+
+    /**
+     * Estimates how many elements seen satisfy {@code predicate}.
+     */
+    public SampleEstimate estimateCount(Predicate<? super T> predicate)
+    {
+        return this.estimateSum(each -> predicate.accept(each) ? 1.0 : 0.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private double valueAt(int index, DoubleFunction<? super T> function)
+    {
+        return function.doubleValueOf((T) this.elements[index]);
+    }
+
+    private void offer(double key, Object element)
+    {
+        if (this.size < this.capacity)
+        {
+            int index = this.size++;
+            while (index > 0)
+            {
+                int parent = (index - 1) >>> 1;
+                if (this.keys[parent] >= key)
+                {
+                    break;
+                }
+                this.keys[index] = this.keys[parent];
+                this.elements[index] = this.elements[parent];
+                index = parent;
+            }
+            this.keys[index] = key;
+            this.elements[index] = element;
+        }
+        else if (key < this.keys[0])
+        {
+            int index = 0;
+            while (true)
+            {
+                int largest = 2 * index + 1;
+                if (largest >= this.size)
+                {
+                    break;
+                }
+                if (largest + 1 < this.size && this.keys[largest + 1] > this.keys[largest])
+                {
+                    largest++;
+                }
+                if (this.keys[largest] <= key)
+                {
+                    break;
+                }
+                this.keys[index] = this.keys[largest];
+                this.elements[index] = this.elements[largest];
+                index = largest;
+            }
+            this.keys[index] = key;
+            this.elements[index] = element;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * An aggregate estimated from a sample, with its standard error. The bounds are a 95% normal confidence interval.
+ * The standard error is {@code NaN} when the sample is too small to estimate it.
+ */
+public final class SampleEstimate
+{
+    private static final double Z_95 = 1.959964;
+
+    private final double value;
+    private final double standardError;
+
+    SampleEstimate(double value, double standardError)
+    {
+        this.value = value;
+        this.standardError = standardError;
+    }
+
+    /**
+     * Adds estimates of independent strata or partitions; their variances add.
+     */
+    SampleEstimate plus(SampleEstimate other)
+    {
+        return new SampleEstimate(
+                this.value + other.value,
+                Math.sqrt(this.standardError * this.standardError + other.standardError * other.standardError));
+    }
+
+    public double getValue()
+    {
+        return this.value;
+    }
+
+    public double getStandardError()
+    {
+        return this.standardError;
+    }
+
+    public double getLowerBound()
+    {
+        return this.value - Z_95 * this.standardError;
+    }
+
+    public double getUpperBound()
+    {
+        return this.value + Z_95 * this.standardError;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.value + " ± " + Z_95 * this.standardError;
+    }
+}
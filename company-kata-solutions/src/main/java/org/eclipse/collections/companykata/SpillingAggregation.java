@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectDoubleProcedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.api.tuple.primitive.ObjectDoublePair;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectDoubleMaps;
+
+/**
+ * Grouped aggregations with {@code String} keys that keep at most a fixed number of entries on heap, for key sets
+ * too large for a single {@code sumByDouble} or {@code groupBy} map. The input is any {@link Iterable}, read once.
+ * <p>
+ * Input is hash-partitioned by key. When more than {@code maxEntriesInMemory} entries are held, the largest
+ * in-memory partition is appended to its own temp file and cleared. Once the input is consumed, partitions that
+ * never spilled are handed over and released, and the rest are merged back from their files one at a time. A
+ * spilled partition that may hold more than {@code maxEntriesInMemory} entries is not loaded; it is partitioned
+ * again with a hash seeded by the recursion level, and spills again as needed, so the streaming variants stay
+ * within the budget however skewed the keys. The materializing variants return the same {@link ObjectDoubleMap} and
+ * {@link ListMultimap} as the in-memory operations.
+ * <p>
+ * For {@code sumByDouble} an entry is a key with its running sum. For {@code groupBy} an entry is an element, which
+ * is spilled through a {@link RecordCodec}; a spilled partition holding a single key, however large its group, is
+ * streamed back from its file without being loaded. Keys are written as length-prefixed UTF-8 of any length.
+ */
+public final class SpillingAggregation
+{
+    /**
+     * The deepest level partitioned again; a partition still too large below it is loaded whole. With a fresh hash
+     * per level, only keys that collide under every level's hash can get this far.
+     */
+    private static final int MAX_LEVEL = 16;
+
+    private final Path directory;
+    private final int partitionCount;
+    private final int maxEntriesInMemory;
+    private int spillCount;
+    private long peakEntries;
+
+    public SpillingAggregation(Path directory, int partitionCount, int maxEntriesInMemory)
+    {
+        if (partitionCount < 2 || maxEntriesInMemory < 1)
+        {
+            throw new IllegalArgumentException(
+                    "partitionCount must be at least 2 and maxEntriesInMemory positive: "
+                            + partitionCount + ", " + maxEntriesInMemory);
+        }
+        this.directory = directory;
+        this.partitionCount = partitionCount;
+        this.maxEntriesInMemory = maxEntriesInMemory;
+    }
+
+    /**
+     * Returns how many times a partition was written to disk since this instance was created.
+     */
+    public int getSpillCount()
+    {
+        return this.spillCount;
+    }
+
+    /**
+     * Returns the most entries held on heap at once by the streaming variants since this instance was created.
+     */
+    public long getPeakEntries()
+    {
+        return this.peakEntries;
+    }
+
+    public <T> ObjectDoubleMap<String> sumByDouble(
+            Iterable<T> items,
+            Function<? super T, String> groupBy,
+            DoubleFunction<? super T> function)
+    {
+        MutableObjectDoubleMap<String> result = ObjectDoubleMaps.mutable.empty();
+        this.sumByDouble(items, groupBy, function, result::put);
+        return result;
+    }
+
+    /**
+     * Sums {@code function} by key and passes each key with its sum to {@code procedure}, one partition at a time.
+     */
+    public <T> void sumByDouble(
+            Iterable<T> items,
+            Function<? super T, String> groupBy,
+            DoubleFunction<? super T> function,
+            ObjectDoubleProcedure<String> procedure)
+    {
+        try (Sums sums = new Sums(0))
+        {
+            for (T item : items)
+            {
+                sums.add(groupBy.valueOf(item), function.doubleValueOf(item));
+            }
+            sums.finish(procedure);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> ListMultimap<String, T> groupBy(
+            Iterable<T> items,
+            Function<? super T, String> groupBy,
+            RecordCodec<T> codec)
+    {
+        MutableListMultimap<String, T> result = Multimaps.mutable.list.empty();
+        this.groupBy(items, groupBy, codec, result::put);
+        return result;
+    }
+
+    /**
+     * Groups {@code items} by key and passes each element with its key to {@code procedure}, one partition at a time.
+     * The elements of a key are passed consecutively and in source order. Spilled elements are passed as read back
+     * by {@code codec}.
+     */
+    public <T> void groupBy(
+            Iterable<T> items,
+            Function<? super T, String> groupBy,
+            RecordCodec<T> codec,
+            Procedure2<String, T> procedure)
+    {
+        try (Groups<T> groups = new Groups<>(0, codec))
+        {
+            for (T item : items)
+            {
+                groups.add(groupBy.valueOf(item), item);
+            }
+            groups.finish(procedure);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int partitionOf(String key, int level)
+    {
+        int hash;
+        if (level == 0)
+        {
+            hash = key.hashCode();
+        }
+        else
+        {
+            // FNV-1a seeded by the level, independent of the String hash that formed the partition being split
+            hash = 0x811C9DC5 ^ level * 0x9E3779B9;
+            for (int i = 0; i < key.length(); i++)
+            {
+                hash = (hash ^ key.charAt(i)) * 0x01000193;
+            }
+        }
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % this.partitionCount;
+    }
+
+    private void held(long entries)
+    {
+        this.peakEntries = Math.max(this.peakEntries, entries);
+    }
+
+    private static boolean hasMore(DataInputStream in) throws IOException
+    {
+        in.mark(1);
+        if (in.read() < 0)
+        {
+            return false;
+        }
+        in.reset();
+        return true;
+    }
+
+    /**
+     * The partitions of one level of {@code sumByDouble}, each a map from key to running sum.
+     */
+    private final class Sums implements AutoCloseable
+    {
+        private final int level;
+        private final MutableObjectDoubleMap<String>[] partitions;
+        private final long[] spilledRecords = new long[SpillingAggregation.this.partitionCount];
+        private final SpillFiles files = new SpillFiles();
+        private int entries;
+
+        @SuppressWarnings("unchecked")
+        private Sums(int level)
+        {
+            this.level = level;
+            this.partitions = new MutableObjectDoubleMap[SpillingAggregation.this.partitionCount];
+            for (int i = 0; i < this.partitions.length; i++)
+            {
+                this.partitions[i] = ObjectDoubleMaps.mutable.empty();
+            }
+        }
+
+        void add(String key, double value) throws IOException
+        {
+            int index = SpillingAggregation.this.partitionOf(key, this.level);
+            MutableObjectDoubleMap<String> partition = this.partitions[index];
+            int sizeBefore = partition.size();
+            partition.addToValue(key, value);
+            this.entries += partition.size() - sizeBefore;
+            SpillingAggregation.this.held(this.entries);
+            if (this.entries > SpillingAggregation.this.maxEntriesInMemory)
+            {
+                int largest = 0;
+                for (int i = 1; i < this.partitions.length; i++)
+                {
+                    if (this.partitions[i].size() > this.partitions[largest].size())
+                    {
+                        largest = i;
+                    }
+                }
+                this.spill(largest);
+            }
+        }
+
+        private void spill(int partition) throws IOException
+        {
+            DataOutputStream out = this.files.output(partition);
+            for (ObjectDoublePair<String> pair : this.partitions[partition].keyValuesView())
+            {
+                RecordCodec.writeString(out, pair.getOne());
+                out.writeDouble(pair.getTwo());
+            }
+            this.spilledRecords[partition] += this.partitions[partition].size();
+            this.entries -= this.partitions[partition].size();
+            this.partitions[partition].clear();
+            SpillingAggregation.this.spillCount++;
+        }
+
+        void finish(ObjectDoubleProcedure<String> procedure) throws IOException
+        {
+            for (int i = 0; i < this.partitions.length; i++)
+            {
+                if (!this.files.hasSpilled(i))
+                {
+                    this.partitions[i].forEachKeyValue(procedure);
+                }
+                else if (this.partitions[i].notEmpty())
+                {
+                    this.spill(i);
+                }
+                this.partitions[i] = null;
+            }
+            for (int i = 0; i < this.spilledRecords.length; i++)
+            {
+                DataInputStream in = this.files.input(i);
+                if (in == null)
+                {
+                    continue;
+                }
+                if (this.spilledRecords[i] <= SpillingAggregation.this.maxEntriesInMemory || this.level == MAX_LEVEL)
+                {
+                    MutableObjectDoubleMap<String> partition = ObjectDoubleMaps.mutable.empty();
+                    while (hasMore(in))
+                    {
+                        partition.addToValue(RecordCodec.readString(in), in.readDouble());
+                    }
+                    SpillingAggregation.this.held(partition.size());
+                    partition.forEachKeyValue(procedure);
+                }
+                else
+                {
+                    try (Sums next = new Sums(this.level + 1))
+                    {
+                        while (hasMore(in))
+                        {
+                            next.add(RecordCodec.readString(in), in.readDouble());
+                        }
+                        next.finish(procedure);
+                    }
+                }
+                this.files.delete(i);
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            this.files.close();
+        }
+    }
+
+    /**
+     * The partitions of one level of {@code groupBy}, each a map from key to the elements read so far.
+     */
+    private final class Groups<T> implements AutoCloseable
+    {
+        private final int level;
+        private final RecordCodec<T> codec;
+        private final MutableMap<String, MutableList<T>>[] partitions;
+        private final int[] partitionSizes = new int[SpillingAggregation.this.partitionCount];
+        private final long[] spilledRecords = new long[SpillingAggregation.this.partitionCount];
+        private final String[] firstSpilledKeys = new String[SpillingAggregation.this.partitionCount];
+        private final boolean[] spilledManyKeys = new boolean[SpillingAggregation.this.partitionCount];
+        private final SpillFiles files = new SpillFiles();
+        private int entries;
+
+        @SuppressWarnings("unchecked")
+        private Groups(int level, RecordCodec<T> codec)
+        {
+            this.level = level;
+            this.codec = codec;
+            this.partitions = new MutableMap[SpillingAggregation.this.partitionCount];
+            for (int i = 0; i < this.partitions.length; i++)
+            {
+                this.partitions[i] = Maps.mutable.empty();
+            }
+        }
+
+        void add(String key, T element) throws IOException
+        {
+            int partition = SpillingAggregation.this.partitionOf(key, this.level);
+            this.partitions[partition].getIfAbsentPut(key, Lists.mutable::empty).add(element);
+            this.partitionSizes[partition]++;
+            this.entries++;
+            SpillingAggregation.this.held(this.entries);
+            if (this.entries > SpillingAggregation.this.maxEntriesInMemory)
+            {
+                int largest = 0;
+                for (int i = 1; i < this.partitionSizes.length; i++)
+                {
+                    if (this.partitionSizes[i] > this.partitionSizes[largest])
+                    {
+                        largest = i;
+                    }
+                }
+                this.spill(largest);
+            }
+        }
+
+        private void spill(int partition) throws IOException
+        {
+            DataOutputStream out = this.files.output(partition);
+            for (Pair<String, MutableList<T>> pair : this.partitions[partition].keyValuesView())
+            {
+                String key = pair.getOne();
+                MutableList<T> elements = pair.getTwo();
+                RecordCodec.writeString(out, key);
+                out.writeInt(elements.size());
+                for (int i = 0; i < elements.size(); i++)
+                {
+                    this.codec.write(out, elements.get(i));
+                }
+                if (this.firstSpilledKeys[partition] == null)
+                {
+                    this.firstSpilledKeys[partition] = key;
+                }
+                else if (!this.firstSpilledKeys[partition].equals(key))
+                {
+                    this.spilledManyKeys[partition] = true;
+                }
+            }
+            this.spilledRecords[partition] += this.partitionSizes[partition];
+            this.entries -= this.partitionSizes[partition];
+            this.partitionSizes[partition] = 0;
+            this.partitions[partition].clear();
+            SpillingAggregation.this.spillCount++;
+        }
+
+        void finish(Procedure2<String, T> procedure) throws IOException
+        {
+            for (int i = 0; i < this.partitions.length; i++)
+            {
+                if (!this.files.hasSpilled(i))
+                {
+                    this.partitions[i].forEachKeyValue((key, elements) ->
+                            elements.forEach(element -> procedure.value(key, element)));
+                }
+                else if (this.partitionSizes[i] > 0)
+                {
+                    // Appended after everything already spilled for their keys, so source order is kept
+                    this.spill(i);
+                }
+                this.partitions[i] = null;
+            }
+            for (int i = 0; i < this.spilledRecords.length; i++)
+            {
+                DataInputStream in = this.files.input(i);
+                if (in == null)
+                {
+                    continue;
+                }
+                if (!this.spilledManyKeys[i])
+                {
+                    // A single key, however many elements: stream it straight from the file
+                    this.forEachRecord(in, procedure::value);
+                }
+                else if (this.spilledRecords[i] <= SpillingAggregation.this.maxEntriesInMemory
+                        || this.level == MAX_LEVEL)
+                {
+                    this.load(in, procedure);
+                }
+                else
+                {
+                    try (Groups<T> next = new Groups<>(this.level + 1, this.codec))
+                    {
+                        this.forEachRecord(in, next::add);
+                        next.finish(procedure);
+                    }
+                }
+                this.files.delete(i);
+            }
+        }
+
+        private void load(DataInputStream in, Procedure2<String, T> procedure) throws IOException
+        {
+            MutableMap<String, MutableList<T>> partition = Maps.mutable.empty();
+            long[] loaded = new long[1];
+            this.forEachRecord(in, (key, element) ->
+            {
+                partition.getIfAbsentPut(key, Lists.mutable::empty).add(element);
+                loaded[0]++;
+            });
+            SpillingAggregation.this.held(loaded[0]);
+            partition.forEachKeyValue((key, elements) -> elements.forEach(element -> procedure.value(key, element)));
+        }
+
+        private void forEachRecord(DataInputStream in, RecordProcedure<T> procedure) throws IOException
+        {
+            while (hasMore(in))
+            {
+                String key = RecordCodec.readString(in);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++)
+                {
+                    procedure.value(key, this.codec.read(in));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            this.files.close();
+        }
+    }
+
+    private interface RecordProcedure<T>
+    {
+        void value(String key, T element) throws IOException;
+    }
+
+    /**
+     * One lazily created temp file per partition, each deleted once merged back or on {@link #close()}.
+     */
+    private final class SpillFiles implements AutoCloseable
+    {
+        private final Path[] paths = new Path[SpillingAggregation.this.partitionCount];
+        private final DataOutputStream[] outputs = new DataOutputStream[SpillingAggregation.this.partitionCount];
+        private final DataInputStream[] inputs = new DataInputStream[SpillingAggregation.this.partitionCount];
+
+        boolean hasSpilled(int partition)
+        {
+            return this.outputs[partition] != null;
+        }
+
+        DataOutputStream output(int partition) throws IOException
+        {
+            if (this.outputs[partition] == null)
+            {
+                this.paths[partition] = Files.createTempFile(
+                        SpillingAggregation.this.directory,
+                        "partition-" + partition + '-',
+                        ".spill");
+                this.outputs[partition] = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(this.paths[partition], StandardOpenOption.APPEND)));
+            }
+            return this.outputs[partition];
+        }
+
+        /**
+         * Finishes writing the partition's file and opens it for reading, or returns null if it never spilled.
+         */
+        DataInputStream input(int partition) throws IOException
+        {
+            if (this.outputs[partition] == null)
+            {
+                return null;
+            }
+            this.outputs[partition].close();
+            this.inputs[partition] = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(this.paths[partition])));
+            return this.inputs[partition];
+        }
+
+        void delete(int partition) throws IOException
+        {
+            this.inputs[partition].close();
+            Files.deleteIfExists(this.paths[partition]);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            IOException failure = null;
+            for (int i = 0; i < this.paths.length; i++)
+            {
+                try
+                {
+                    if (this.outputs[i] != null)
+                    {
+                        this.outputs[i].close();
+                    }
+                    if (this.inputs[i] != null)
+                    {
+                        this.inputs[i].close();
+                    }
+                    if (this.paths[i] != null)
+                    {
+                        Files.deleteIfExists(this.paths[i]);
+                    }
+                }
+                catch (IOException e)
+                {
+                    if (failure == null)
+                    {
+                        failure = e;
+                    }
+                    else
+                    {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null)
+            {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.Multimaps;
+
+/**
+ * One {@link ReservoirSample} per stratum, e.g. customers per city, so small strata are not drowned out by large
+ * ones. Estimates of the whole input add up the per-stratum estimates. Samples of disjoint inputs
+ * {@link #merge(StratifiedSample) merge} stratum by stratum; each stratum's reservoir is seeded from this sample's
+ * seed when the stratum is first seen, so merged samples must be created with different seeds.
+ */
+public final class StratifiedSample<K, T>
+{
+    private final Function<? super T, ? extends K> stratumFunction;
+    private final int capacityPerStratum;
+    private final SplittableRandom seeds;
+    private final MutableMap<K, ReservoirSample<T>> strata = Maps.mutable.empty();
+
+    public StratifiedSample(Function<? super T, ? extends K> stratumFunction, int capacityPerStratum, long seed)
+    {
+        if (capacityPerStratum < 1)
+        {
+            throw new IllegalArgumentException("capacityPerStratum must be positive: " + capacityPerStratum);
+        }
+        this.stratumFunction = stratumFunction;
+        this.capacityPerStratum = capacityPerStratum;
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    public static <K, T> StratifiedSample<K, T> of(
+            Iterable<T> items,
+            Function<? super T, ? extends K> stratumFunction,
+            int capacityPerStratum,
+            long seed)
+    {
+        StratifiedSample<K, T> sample = new StratifiedSample<>(stratumFunction, capacityPerStratum, seed);
+        sample.addAll(items);
+        return sample;
+    }
+
+    public void add(T item)
+    {
+        this.stratum(this.stratumFunction.valueOf(item)).add(item);
+    }
+
+    public void addAll(Iterable<? extends T> items)
+    {
+        for (T item : items)
+        {
+            this.add(item);
+        }
+    }
+
+    public StratifiedSample<K, T> merge(StratifiedSample<K, ? extends T> other)
+    {
+        other.strata.forEachKeyValue((key, sample) -> this.stratum(key).merge(sample));
+        return this;
+    }
+
+    public int getCapacityPerStratum()
+    {
+        return this.capacityPerStratum;
+    }
+
+    public SetIterable<K> getStrata()
+    {
+        return this.strata.keysView().toSet();
+    }
+
+    public long getSeen(K stratum)
+    {
+        ReservoirSample<T> sample = this.strata.get(stratum);
+        return sample == null ? 0L : sample.getSeen();
+    }
+
+    public ImmutableList<T> getSample(K stratum)
+    {
+        ReservoirSample<T> sample = this.strata.get(stratum);
+        return sample == null ? Lists.immutable.empty() : sample.getSample();
+    }
+
+    public ListMultimap<K, T> getSample()
+    {
+        MutableListMultimap<K, T> multimap = Multimaps.mutable.list.empty();
+        this.strata.forEachKeyValue((key, sample) -> multimap.putAll(key, sample.getSample()));
+        return multimap;
+    }
+
+    /**
+     * Estimates the sum of {@code function} over all elements seen in {@code stratum}.
+     */
+    public SampleEstimate estimateSum(K stratum, DoubleFunction<? super T> function)
+    {
+        ReservoirSample<T> sample = this.strata.get(stratum);
+        return sample == null ? new SampleEstimate(0.0, 0.0) : sample.estimateSum(function);
+    }
+
+    /**
+     * Estimates the sum of {@code function} over all elements seen.
+     */
+    public SampleEstimate estimateSum(DoubleFunction<? super T> function)
+    {
+        return this.strata.injectInto(
+                new SampleEstimate(0.0, 0.0),
+                (estimate, sample) -> estimate.plus(sample.estimateSum(function)));
+    }
+
+    private ReservoirSample<T> stratum(K key)
+    {
+        return this.strata.getIfAbsentPut(
+                key,
+                () -> new ReservoirSample<>(this.capacityPerStratum, this.seeds.nextLong()));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+
+/**
+ * Joins {@link Order}s to the {@link Supplier}s that supply their line items, matching
+ * {@link LineItem#getName()} against {@link Supplier#getItemNames()}.
+ * <p>
+ * The supplier side is built once into an index from int item id to the int ids of its suppliers. Each order is
+ * then probed one line item at a time with a hash lookup instead of a scan over every supplier, and suppliers are
+ * de-duplicated per order with a stamp array rather than a set. An instance is immutable after it is built and may be
+ * probed from several threads at once.
+ */
+public final class SupplierOrderJoin
+{
+    private static final int[] NO_SUPPLIERS = new int[0];
+
+    private final ImmutableList<Supplier> suppliers;
+    private final MutableObjectIntMap<String> itemIds;
+    private final int[][] supplierIdsByItemId;
+
+    private SupplierOrderJoin(
+            ImmutableList<Supplier> suppliers,
+            MutableObjectIntMap<String> itemIds,
+            int[][] supplierIdsByItemId)
+    {
+        this.suppliers = suppliers;
+        this.itemIds = itemIds;
+        this.supplierIdsByItemId = supplierIdsByItemId;
+    }
+
+    public static SupplierOrderJoin buildOn(RichIterable<Supplier> suppliers)
+    {
+        ImmutableList<Supplier> supplierList = Lists.immutable.withAll(suppliers);
+        MutableObjectIntMap<String> itemIds = ObjectIntMaps.mutable.empty();
+        MutableList<MutableIntList> supplierIds = Lists.mutable.empty();
+        supplierList.forEachWithIndex((supplier, supplierId) ->
+                ArrayIterate.forEach(supplier.getItemNames(), itemName ->
+                {
+                    int itemId = itemIds.getIfAbsentPut(itemName, supplierIds.size());
+                    if (itemId == supplierIds.size())
+                    {
+                        supplierIds.add(IntLists.mutable.empty());
+                    }
+                    MutableIntList forItem = supplierIds.get(itemId);
+                    if (forItem.isEmpty() || forItem.getLast() != supplierId)
+                    {
+                        forItem.add(supplierId);
+                    }
+                }));
+        int[][] supplierIdsByItemId = supplierIds.collect(MutableIntList::toArray).toArray(new int[0][]);
+        return new SupplierOrderJoin(supplierList, itemIds, supplierIdsByItemId);
+    }
+
+    public ImmutableList<Supplier> getSuppliers()
+    {
+        return this.suppliers;
+    }
+
+    /**
+     * Returns the id of {@code itemName} in this index, or -1 if no supplier supplies it.
+     */
+    public int itemIdOf(String itemName)
+    {
+        return this.itemIds.getIfAbsent(itemName, -1);
+    }
+
+    /**
+     * Returns the ids of the suppliers of an item id, in ascending order. Ids index into {@link #getSuppliers()}.
+     */
+    public IntList supplierIdsOf(int itemId)
+    {
+        return IntLists.immutable.with(this.supplierIdsFor(itemId));
+    }
+
+    public ListIterable<Supplier> suppliersOf(String itemName)
+    {
+        return IntLists.immutable.with(this.supplierIdsFor(this.itemIdOf(itemName))).collect(this.suppliers::get);
+    }
+
+    /**
+     * Maps each order with at least one supplied line item to the distinct suppliers of its items, in supplier order.
+     * Orders with no supplied items are left out.
+     */
+    public MutableListMultimap<Order, Supplier> innerJoin(RichIterable<Order> orders)
+    {
+        MutableListMultimap<Order, Supplier> result = Multimaps.mutable.list.empty();
+        int[] stamps = new int[this.suppliers.size()];
+        int[] stamp = {0};
+        orders.forEach(order ->
+        {
+            stamp[0]++;
+            MutableIntList matched = IntLists.mutable.empty();
+            order.getLineItems().forEachWithOccurrences((lineItem, occurrences) ->
+            {
+                for (int supplierId : this.supplierIdsFor(this.itemIdOf(lineItem.getName())))
+                {
+                    if (stamps[supplierId] != stamp[0])
+                    {
+                        stamps[supplierId] = stamp[0];
+                        matched.add(supplierId);
+                    }
+                }
+            });
+            matched.sortThis().forEach(supplierId -> result.put(order, this.suppliers.get(supplierId)));
+        });
+        return result;
+    }
+
+    /**
+     * Same as {@link #innerJoin(RichIterable)}, probing batches of {@code batchSize} orders on the {@code executor}
+     * and merging the partial results in order.
+     */
+    public MutableListMultimap<Order, Supplier> innerJoinInParallel(
+            ListIterable<Order> orders,
+            int batchSize,
+            Executor executor)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        MutableList<CompletableFuture<MutableListMultimap<Order, Supplier>>> partials = Lists.mutable.empty();
+        for (RichIterable<Order> batch : orders.chunk(batchSize))
+        {
+            partials.add(CompletableFuture.supplyAsync(() -> this.innerJoin(batch), executor));
+        }
+        MutableListMultimap<Order, Supplier> result = Multimaps.mutable.list.empty();
+        partials.forEach(partial -> result.putAll(partial.join()));
+        return result;
+    }
+
+    /**
+     * Returns the orders that have at least one line item some supplier supplies.
+     */
+    public MutableList<Order> semiJoin(RichIterable<Order> orders)
+    {
+        return orders.select(this::hasSuppliedItem, Lists.mutable.empty());
+    }
+
+    /**
+     * Returns the orders none of whose line items any supplier supplies.
+     */
+    public MutableList<Order> antiJoin(RichIterable<Order> orders)
+    {
+        return orders.reject(this::hasSuppliedItem, Lists.mutable.empty());
+    }
+
+    private boolean hasSuppliedItem(Order order)
+    {
+        return order.getLineItems().anySatisfy(lineItem -> this.itemIdOf(lineItem.getName()) >= 0);
+    }
+
+    private int[] supplierIdsFor(int itemId)
+    {
+        return itemId < 0 ? NO_SUPPLIERS : this.supplierIdsByItemId[itemId];
+    }
+}
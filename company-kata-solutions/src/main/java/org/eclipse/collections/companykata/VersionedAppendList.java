@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only list where every element is stamped with the version that added it. A single writer appends while
+ * any number of readers take {@link #viewAt(long) views} without locking.
+ * <p>
+ * Published slots are never written again. When the list grows, the writer copies into larger arrays and publishes
+ * them before the new size, so a view keeps reading the arrays it captured while later appends go elsewhere. Arrays
+ * that no view references any more are left to the garbage collector.
+ */
+final class VersionedAppendList<T>
+{
+    private volatile Segment segment = new Segment(new Object[4], new long[4]);
+    private volatile int size;
+
+    /**
+     * Must only be called by one writer at a time, with non-decreasing versions.
+     */
+    void append(T item, long version)
+    {
+        Segment current = this.segment;
+        int index = this.size;
+        if (index == current.items.length)
+        {
+            int capacity = index << 1;
+            current = new Segment(Arrays.copyOf(current.items, capacity), Arrays.copyOf(current.versions, capacity));
+            this.segment = current;
+        }
+        current.items[index] = item;
+        current.versions[index] = version;
+        this.size = index + 1;
+    }
+
+    /**
+     * Returns the elements appended at or before {@code version}.
+     */
+    View<T> viewAt(long version)
+    {
+        // Read the size before the segment: the segment published before that size is at least that large
+        int publishedSize = this.size;
+        Segment current = this.segment;
+        return new View<>(current.items, countUpTo(current.versions, publishedSize, version));
+    }
+
+    private static int countUpTo(long[] versions, int size, long version)
+    {
+        int low = 0;
+        int high = size;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (versions[mid] <= version)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Segment
+    {
+        private final Object[] items;
+        private final long[] versions;
+
+        private Segment(Object[] items, long[] versions)
+        {
+            this.items = items;
+            this.versions = versions;
+        }
+    }
+
+    static final class View<T> implements Iterable<T>
+    {
+        private final Object[] items;
+        private final int size;
+
+        private View(Object[] items, int size)
+        {
+            this.items = items;
+            this.size = size;
+        }
+
+        int size()
+        {
+            return this.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index)
+        {
+            if (index >= this.size)
+            {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size);
+            }
+            return (T) this.items[index];
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return new Iterator<T>()
+            {
+                private int next;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.next < View.this.size;
+                }
+
+                @Override
+                public T next()
+                {
+                    if (!this.hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    return View.this.get(this.next++);
+                }
+            };
+        }
+    }
+}
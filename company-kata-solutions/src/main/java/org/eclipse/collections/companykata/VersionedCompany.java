@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Company} whose customers and orders can be read through point-in-time {@link CompanySnapshot}s while
+ * writers keep appending.
+ * <p>
+ * Every {@link #addCustomer(Customer)} and {@link #addOrder(Customer, Order)} publishes a new version. Taking a
+ * snapshot only records the current version, and a snapshot never sees anything added after it, never sees a half
+ * applied write and never throws {@link java.util.ConcurrentModificationException}. Writers are serialized with each
+ * other but never wait for readers.
+ * <p>
+ * Orders are owned by this class rather than by {@link Customer#getOrders()}, which is a plain {@code MutableList}
+ * and not safe to read while another thread appends to it. An {@link Order} should be complete before it is added;
+ * its line items are not versioned.
+ */
+public class VersionedCompany
+{
+    private final String name;
+    private final VersionedAppendList<Customer> customers = new VersionedAppendList<>();
+    private final Map<Customer, VersionedAppendList<Order>> ordersByCustomer = new ConcurrentHashMap<>();
+    private volatile long version;
+
+    public VersionedCompany(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * Copies the customers of {@code company} and their current orders into a new instance as a single version.
+     */
+    public static VersionedCompany of(Company company)
+    {
+        VersionedCompany versioned = new VersionedCompany(company.getName());
+        synchronized (versioned)
+        {
+            long first = versioned.version + 1;
+            company.getCustomers().forEach(customer ->
+            {
+                VersionedAppendList<Order> orders = versioned.register(customer, first);
+                customer.getOrders().forEach(order -> orders.append(order, first));
+            });
+            versioned.version = first;
+        }
+        return versioned;
+    }
+
+    public String getName()
+    {
+        return this.name;
+    }
+
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    /**
+     * Adds {@code customer} and returns the version that contains it.
+     */
+    public synchronized long addCustomer(Customer customer)
+    {
+        long next = this.version + 1;
+        this.register(customer, next);
+        this.version = next;
+        return next;
+    }
+
+    /**
+     * Adds {@code order} to a customer that was already added and returns the version that contains it.
+     */
+    public synchronized long addOrder(Customer customer, Order order)
+    {
+        VersionedAppendList<Order> orders = this.ordersByCustomer.get(customer);
+        if (orders == null)
+        {
+            throw new IllegalArgumentException("Unknown customer: " + customer.getName());
+        }
+        long next = this.version + 1;
+        orders.append(order, next);
+        this.version = next;
+        return next;
+    }
+
+    /**
+     * Returns a view of everything added up to the current version.
+     */
+    public CompanySnapshot snapshot()
+    {
+        long current = this.version;
+        return new CompanySnapshot(this, current, this.customers.viewAt(current));
+    }
+
+    VersionedAppendList.View<Order> ordersAt(Customer customer, long atVersion)
+    {
+        VersionedAppendList<Order> orders = this.ordersByCustomer.get(customer);
+        if (orders == null)
+        {
+            throw new IllegalArgumentException("Unknown customer: " + customer.getName());
+        }
+        return orders.viewAt(atVersion);
+    }
+
+    private VersionedAppendList<Order> register(Customer customer, long atVersion)
+    {
+        VersionedAppendList<Order> orders = new VersionedAppendList<>();
+        if (this.ordersByCustomer.putIfAbsent(customer, orders) != null)
+        {
+            throw new IllegalArgumentException("Customer already added: " + customer.getName());
+        }
+        this.customers.append(customer, atVersion);
+        return orders;
+    }
+}
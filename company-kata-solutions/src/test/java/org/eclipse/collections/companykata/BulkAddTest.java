@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Iterator;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class BulkAddTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void addCustomers()
+    {
+        MutableList<Customer> newCustomers = Lists.mutable.with(
+                new Customer("Jo", "Leeds"),
+                new Customer("Sam", "York"));
+
+        this.company.addCustomers(newCustomers);
+        this.company.addCustomers(Lists.mutable.<Customer>empty().asLazy());
+
+        Verify.assertSize(5, this.company.getCustomers());
+        Assertions.assertEquals("Sam", this.company.getMostRecentCustomer().getName());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addOrders()
+    {
+        Customer bill = this.company.getCustomerNamed("Bill");
+        Order order1 = new Order();
+        order1.addLineItem(new LineItem("sofa", 120.0));
+        Order order2 = new Order();
+        order2.addLineItem(new LineItem("kettle", 20.0));
+
+        bill.addOrders(Lists.mutable.with(order1, order2).asLazy());
+
+        Verify.assertSize(5, bill.getOrders());
+        Assertions.assertEquals(515.25, bill.getTotalOrderValue(), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addLineItemsAddsOccurrences()
+    {
+        Order billOrder1 = this.company.getCustomerNamed("Bill").getOrders().getFirst();
+        MutableBag<LineItem> items = Bags.mutable.empty();
+        LineItem gnome = new LineItem("gnome", 7.50);
+        items.addOccurrences(gnome, 7);
+        items.addOccurrences(new LineItem("kettle", 20.0), 2);
+
+        billOrder1.addLineItems(items);
+
+        Assertions.assertEquals(50, billOrder1.getLineItems().occurrencesOf(gnome));
+        Verify.assertSize(53, billOrder1.getLineItems());
+        Assertions.assertEquals(465.0, billOrder1.getValue(), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addSuppliers()
+    {
+        this.company.addSuppliers(Lists.mutable.with(
+                new Supplier("Cutlery Co", new String[]{"spoon", "fork"}),
+                new Supplier("Knives Ltd", new String[]{"knife"})));
+
+        Verify.assertSize(9, this.company.getSuppliers());
+        Assertions.assertEquals("Knives Ltd", this.company.getSuppliers().getLast().getName());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void oneShotIterablesAreReadOnce()
+    {
+        Iterator<Customer> customers = Lists.mutable.with(new Customer("Jo", "Leeds")).iterator();
+        this.company.addCustomers(() -> customers);
+        Verify.assertSize(4, this.company.getCustomers());
+
+        Customer bill = this.company.getCustomerNamed("Bill");
+        Iterator<Order> orders = Lists.mutable.with(new Order()).iterator();
+        bill.addOrders(() -> orders);
+        Verify.assertSize(4, bill.getOrders());
+
+        Iterator<Supplier> suppliers = Lists.mutable.with(new Supplier("Cutlery Co", new String[]{"spoon"})).iterator();
+        this.company.addSuppliers(() -> suppliers);
+        Assertions.assertEquals("Cutlery Co", this.company.getSuppliers().getLast().getName());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes changes for {@link CompanyReplicaTest} from a separate JVM. Arguments are the change directory and the
+ * number of customers to add; the final sequence number and total order value are printed when done.
+ */
+public final class CompanyChangeLeader
+{
+    private CompanyChangeLeader()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Path directory = Paths.get(args[0]);
+        int customers = Integer.parseInt(args[1]);
+        Company company = new Company("Bloggs Shed Supplies");
+        try (CompanyChangeWriter writer = CompanyChangeWriter.open(company, directory, 1_024L))
+        {
+            writeChanges(writer, customers);
+            System.out.println(writer.getSequence() + " " + company.getOrders().sumOfDouble(Order::getValue));
+        }
+    }
+
+    static void writeChanges(CompanyChangeWriter writer, int customers) throws InterruptedException
+    {
+        for (int i = 0; i < customers; i++)
+        {
+            Customer customer = new Customer("Customer " + i, i % 2 == 0 ? "London" : "Liphook");
+            writer.addCustomer(customer);
+            Order order = new Order();
+            order.addLineItem(new LineItem("shed", 50.0 + i));
+            writer.addOrder(customer, order);
+            writer.addLineItem(order, new LineItem("gnome", 7.5));
+            if (i % 3 == 0)
+            {
+                writer.deliver(order);
+            }
+            if (i % 10 == 9)
+            {
+                Thread.sleep(5L);
+            }
+        }
+    }
+}
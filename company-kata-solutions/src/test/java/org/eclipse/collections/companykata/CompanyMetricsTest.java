@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.companykata.CompanyMetrics.Operation;
+import org.eclipse.collections.impl.list.Interval;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompanyMetricsTest extends CompanyDomainForKata
+{
+    @AfterEach
+    public void tearDown()
+    {
+        CompanyMetrics.disable();
+        CompanyMetrics.reset();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void disabledRecordsNothing()
+    {
+        CompanyMetrics.disable();
+        CompanyMetrics.reset();
+
+        this.company.getCustomerNamed("Fred").getTotalOrderValue();
+
+        Assertions.assertEquals(0L, CompanyMetrics.getCalls(Operation.GET_CUSTOMER_NAMED));
+        Assertions.assertEquals(0L, CompanyMetrics.getLatencies(Operation.ORDER_VALUE).getCount());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void countsAndLatencies()
+    {
+        CompanyMetrics.reset();
+        CompanyMetrics.enable();
+
+        this.company.getCustomerNamed("Fred");
+        this.company.getCustomerNamed("Bill").getTotalOrderValue();
+        this.company.getOrders();
+
+        Assertions.assertEquals(2L, CompanyMetrics.getCalls(Operation.GET_CUSTOMER_NAMED));
+        Assertions.assertEquals(1L, CompanyMetrics.getCalls(Operation.CUSTOMER_TOTAL_ORDER_VALUE));
+        Assertions.assertEquals(3L, CompanyMetrics.getCalls(Operation.ORDER_VALUE));
+        Assertions.assertEquals(1L, CompanyMetrics.getCalls(Operation.GET_ORDERS));
+
+        LatencyHistogram latencies = CompanyMetrics.getLatencies(Operation.ORDER_VALUE);
+        Assertions.assertEquals(3L, latencies.getCount());
+        Assertions.assertTrue(latencies.getPercentileNanos(50.0) <= latencies.getMaxNanos());
+        Assertions.assertTrue(latencies.getTotalNanos() >= latencies.getMaxNanos());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void histogramPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++)
+        {
+            histogram.record(100L);
+        }
+        histogram.record(1_000_000L);
+
+        Assertions.assertEquals(100L, histogram.getCount());
+        Assertions.assertEquals(127L, histogram.getPercentileNanos(50.0));
+        Assertions.assertEquals(127L, histogram.getPercentileNanos(99.0));
+        Assertions.assertEquals(1_000_000L, histogram.getPercentileNanos(100.0));
+        Assertions.assertEquals(1_000_000L, histogram.getMaxNanos());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void histogramRecordsFromManyThreads()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            Interval.oneTo(8).toList().asParallel(executor, 1).forEach(thread ->
+            {
+                for (int i = 0; i < 10_000; i++)
+                {
+                    histogram.record(thread * 100L);
+                }
+            });
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(80_000L, histogram.getCount());
+        Assertions.assertEquals(10_000L * 100L * 36L, histogram.getTotalNanos());
+        Assertions.assertEquals(800L, histogram.getMaxNanos());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void exportSnapshot(@TempDir Path directory) throws IOException
+    {
+        CompanyMetrics.reset();
+        CompanyMetrics.enable();
+        this.company.getCustomerNamed("Mary");
+        CompanyMetrics.Snapshot snapshot = CompanyMetrics.snapshot();
+        CompanyMetrics.disable();
+
+        Assertions.assertEquals(1L, snapshot.get(Operation.GET_CUSTOMER_NAMED).getCalls());
+
+        Path text = directory.resolve("metrics.txt");
+        snapshot.writeText(text);
+        String textContent = Files.readString(text, StandardCharsets.UTF_8);
+        Assertions.assertTrue(textContent.startsWith("company.getCustomerNamed calls=1 "), textContent);
+        Assertions.assertEquals(4, textContent.lines().count());
+
+        Path json = directory.resolve("metrics.json");
+        snapshot.writeJson(json);
+        String jsonContent = Files.readString(json, StandardCharsets.UTF_8);
+        Assertions.assertTrue(jsonContent.startsWith("{\"company.getCustomerNamed\":{\"calls\":1,"), jsonContent);
+        Assertions.assertTrue(jsonContent.contains("\"order.getValue\":{\"calls\":0,"), jsonContent);
+    }
+}
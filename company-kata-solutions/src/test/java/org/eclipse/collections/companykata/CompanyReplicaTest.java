@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompanyReplicaTest extends CompanyDomainForKata
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void replicatesExistingStateAndChanges() throws Exception
+    {
+        try (CompanyChangeWriter writer = CompanyChangeWriter.open(this.company, this.directory, 256L);
+                CompanyReplica replica = new CompanyReplica(this.company.getName(), this.directory))
+        {
+            Assertions.assertEquals(writer.getSequence(), replica.poll());
+            this.assertReplicated(replica);
+            Assertions.assertTrue(Files.exists(CompanyChange.file(this.directory, 2)), "files rotate");
+
+            Customer bill = this.company.getCustomerNamed("Bill");
+            Order order = new Order();
+            writer.addOrder(bill, order);
+            writer.addLineItem(order, new LineItem("kettle", 30.0));
+            writer.deliver(bill.getOrders().getFirst());
+            writer.addCustomer(new Customer("Ann", "Liphook"));
+
+            int nextOrderNumber = new Order().getOrderNumber() + 1;
+            Assertions.assertEquals(4, replica.poll());
+            Assertions.assertEquals(0, replica.poll());
+            Assertions.assertEquals(
+                    nextOrderNumber,
+                    new Order().getOrderNumber(),
+                    "replayed orders keep the leader's numbers");
+            this.assertReplicated(replica);
+            Assertions.assertEquals(1, replica.getDeliveredOrderCount());
+            Assertions.assertEquals(405.25, replica.getTotalOrderValue("Bill"), 1.0e-9);
+            Assertions.assertEquals(30.0, replica.getOrder(order.getOrderNumber()).getValue(), 0.0);
+            Assertions.assertTrue(replica.getOrder(bill.getOrders().getFirst().getOrderNumber()).isDelivered());
+            Assertions.assertEquals("Liphook", replica.getCustomerNamed("Ann").getCity());
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void partialRecordIsRetried() throws Exception
+    {
+        try (CompanyChangeWriter writer = CompanyChangeWriter.open(new Company("Empty"), this.directory, 1_024L);
+                CompanyReplica replica = new CompanyReplica("Empty", this.directory))
+        {
+            Assertions.assertEquals(0, replica.poll());
+            writer.addCustomer(new Customer("Ann", "Liphook"));
+
+            Path file = CompanyChange.file(this.directory, 1);
+            byte[] complete = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(complete, complete.length - 3));
+            Assertions.assertEquals(0, replica.poll());
+
+            Files.write(file, complete);
+            Assertions.assertEquals(1, replica.poll());
+            Assertions.assertEquals(1L, replica.getSequence());
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void namesLongerThan64KbAreReplicated() throws Exception
+    {
+        String city = "Liphook".repeat(10_000);
+        String item = "\u00e9clair".repeat(20_000);
+        try (CompanyChangeWriter writer = CompanyChangeWriter.open(new Company("Long"), this.directory, 1_024L);
+                CompanyReplica replica = new CompanyReplica("Long", this.directory))
+        {
+            Customer ann = new Customer("Ann", city);
+            writer.addCustomer(ann);
+            Order order = new Order();
+            writer.addOrder(ann, order);
+            writer.addLineItem(order, new LineItem(item, 1.5));
+
+            Assertions.assertEquals(3, replica.poll());
+            Assertions.assertEquals(city, replica.getCustomerNamed("Ann").getCity());
+            Assertions.assertEquals(item, replica.getOrder(order.getOrderNumber()).getLineItems().getOnly().getName());
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void duplicateCustomerNamesAreRejected() throws Exception
+    {
+        try (CompanyChangeWriter writer = CompanyChangeWriter.open(this.company, this.directory, 1_024L))
+        {
+            long sequence = writer.getSequence();
+            int customers = this.company.getCustomers().size();
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> writer.addCustomer(new Customer("Fred", "Liphook")));
+            Assertions.assertEquals(sequence, writer.getSequence());
+            Verify.assertSize(customers, this.company.getCustomers());
+        }
+
+        Company duplicates = new Company("Duplicates");
+        duplicates.addCustomer(new Customer("Ann", "London"));
+        duplicates.addCustomer(new Customer("Ann", "Liphook"));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> CompanyChangeWriter.open(duplicates, this.directory.resolve("duplicates"), 1_024L));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void followsWriterInAnotherJvm() throws Exception
+    {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process leader = new ProcessBuilder(
+                java,
+                "-cp",
+                System.getProperty("java.class.path"),
+                CompanyChangeLeader.class.getName(),
+                this.directory.toString(),
+                "300")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try (CompanyReplica replica = new CompanyReplica("Bloggs Shed Supplies", this.directory))
+        {
+            replica.follow(executor, Duration.ofMillis(20L));
+
+            String result;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(leader.getInputStream(), StandardCharsets.UTF_8)))
+            {
+                result = reader.readLine();
+            }
+            Assertions.assertTrue(leader.waitFor(30L, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, leader.exitValue());
+
+            String[] parts = result.split(" ");
+            long sequence = Long.parseLong(parts[0]);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30L);
+            while (replica.getSequence() < sequence && System.nanoTime() < deadline)
+            {
+                Thread.sleep(10L);
+            }
+
+            Assertions.assertEquals(sequence, replica.getSequence(), "caught up with the writer");
+            Assertions.assertEquals(Double.parseDouble(parts[1]), replica.getTotalOrderValue(), 1.0e-6);
+            Assertions.assertEquals(100, replica.getDeliveredOrderCount());
+            Assertions.assertEquals(50.0 + 299 + 7.5, replica.getTotalOrderValue("Customer 299"), 1.0e-9);
+            Assertions.assertTrue(Files.exists(CompanyChange.file(this.directory, 10)), "files rotate");
+        }
+        finally
+        {
+            executor.shutdownNow();
+            leader.destroy();
+        }
+    }
+
+    private void assertReplicated(CompanyReplica replica)
+    {
+        Company copy = replica.getCompany();
+        Verify.assertSize(this.company.getCustomers().size(), copy.getCustomers());
+        Assertions.assertEquals(
+                this.company.getCustomers().collect(Customer::getName),
+                copy.getCustomers().collect(Customer::getName));
+        Assertions.assertEquals(
+                this.company.getOrders().collect(Order::getOrderNumber),
+                copy.getOrders().collect(Order::getOrderNumber));
+        Assertions.assertEquals(
+                this.company.getOrders().collectDouble(Order::getValue),
+                copy.getOrders().collectDouble(Order::getValue));
+        Assertions.assertEquals(
+                this.company.getOrders().sumOfDouble(Order::getValue),
+                replica.getTotalOrderValue(),
+                1.0e-9);
+        this.company.getCustomers().forEach(customer -> Assertions.assertEquals(
+                customer.getTotalOrderValue(),
+                replica.getTotalOrderValue(customer.getName()),
+                1.0e-9));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class CompanyReportWriterTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void customersAsDelimitedText() throws IOException
+    {
+        StringBuilder out = new StringBuilder();
+        CompanyReportWriter.delimited('~').writeCustomers(this.company, out);
+
+        Assertions.assertEquals(
+                "Fred~London~1~71.0\n"
+                        + "Mary~Liphook~1~857.0\n"
+                        + "Bill~London~3~375.25\n",
+                out.toString());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void ordersAsCsv() throws IOException
+    {
+        this.company.addCustomer(new Customer("Smith, \"Jo\"", "Leeds"));
+        this.company.getCustomerNamed("Smith, \"Jo\"").addOrder(new Order());
+
+        StringBuilder out = new StringBuilder();
+        CompanyReportWriter.csv().writeOrders(this.company, out);
+
+        Assertions.assertEquals(
+                "customer,orderNumber,lineItemCount,value,delivered\n"
+                        + "Fred,1,9,71.0,false\n"
+                        + "Mary,2,12,857.0,false\n"
+                        + "Bill,3,44,372.5,false\n"
+                        + "Bill,4,2,1.75,false\n"
+                        + "Bill,5,1,1.0,false\n"
+                        + "\"Smith, \"\"Jo\"\"\",6,0,0.0,false\n",
+                out.toString());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void customersAsJsonLines() throws IOException
+    {
+        this.company.addCustomer(new Customer("Tab\t\"Q\"", "Leeds"));
+
+        StringBuilder out = new StringBuilder();
+        CompanyReportWriter.jsonLines().writeCustomers(this.company, out);
+
+        String[] lines = out.toString().split("\n");
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertEquals(
+                "{\"name\":\"Fred\",\"city\":\"London\",\"orderCount\":1,\"totalOrderValue\":71.0}",
+                lines[0]);
+        Assertions.assertEquals(
+                "{\"name\":\"Tab\\t\\\"Q\\\"\",\"city\":\"Leeds\",\"orderCount\":0,\"totalOrderValue\":0.0}",
+                lines[3]);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void channelMatchesAppendable() throws IOException
+    {
+        for (int i = 0; i < 2000; i++)
+        {
+            Customer customer = new Customer("Customer é😀 " + i, "City " + i % 7);
+            Order order = new Order();
+            order.addLineItems(new LineItem("cup", 1.5), i % 5 + 1);
+            customer.addOrder(order);
+            this.company.addCustomer(customer);
+        }
+
+        StringBuilder expected = new StringBuilder();
+        CompanyReportWriter.csv().writeOrders(this.company, expected);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompanyReportWriter.csv().writeOrders(this.company, Channels.newChannel(bytes));
+
+        Assertions.assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void parallelPreservesOrder() throws IOException
+    {
+        for (int i = 0; i < 500; i++)
+        {
+            this.company.addCustomer(new Customer("Customer " + i, "City " + i % 7));
+        }
+
+        StringBuilder serial = new StringBuilder();
+        CompanyReportWriter.jsonLines().writeCustomers(this.company, serial);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            StringBuilder parallel = new StringBuilder();
+            CompanyReportWriter.jsonLines().writeCustomersInParallel(this.company, parallel, 16, 3, executor);
+            Assertions.assertEquals(serial.toString(), parallel.toString());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExternalSorterTest extends CompanyDomainForKata
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void ordersByValue() throws IOException
+    {
+        MutableList<Order> orders = this.company.getOrders();
+        MutableList<Order> expected = orders.toSortedListBy(Order::getValue);
+        CompanyMetrics.reset();
+        CompanyMetrics.enable();
+        try (ExternalSorter.SortedIterator<Order> sorted =
+                new ExternalSorter(this.directory, 2).sortOrdersByValue(orders))
+        {
+            Assertions.assertEquals(3, sorted.getRunCount());
+            MutableList<Order> result = toList(sorted);
+            Assertions.assertEquals(
+                    orders.size(),
+                    CompanyMetrics.getCalls(CompanyMetrics.Operation.ORDER_VALUE),
+                    "each order's value is computed once");
+            Assertions.assertEquals(
+                    expected.collect(Order::getOrderNumber),
+                    result.collect(Order::getOrderNumber));
+            Assertions.assertEquals(
+                    expected.collectDouble(Order::getValue),
+                    result.collectDouble(Order::getValue));
+            Assertions.assertEquals(
+                    expected.collect(Order::isDelivered),
+                    result.collect(Order::isDelivered));
+            Assertions.assertEquals(
+                    expected.collect(order -> order.getLineItems().size()),
+                    result.collect(order -> order.getLineItems().size()));
+        }
+        finally
+        {
+            CompanyMetrics.disable();
+            CompanyMetrics.reset();
+        }
+        this.assertNoRunFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void lineItemsByName() throws IOException
+    {
+        MutableList<LineItem> lineItems = this.company.getOrders().flatCollect(Order::getLineItems);
+        try (ExternalSorter.SortedIterator<LineItem> sorted =
+                new ExternalSorter(this.directory, 3).sortLineItemsByName(lineItems))
+        {
+            MutableList<LineItem> result = toList(sorted);
+            Verify.assertSize(lineItems.size(), result);
+            Assertions.assertEquals(
+                    lineItems.collect(LineItem::getName).sortThis(),
+                    result.collect(LineItem::getName));
+        }
+        this.assertNoRunFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void manyRunsMatchInMemorySort() throws IOException
+    {
+        MutableList<LineItem> lineItems = Lists.mutable.empty();
+        for (int i = 0; i < 20_000; i++)
+        {
+            lineItems.add(new LineItem("sku-" + i, i * 7919 % 5003 * 0.25));
+        }
+
+        try (ExternalSorter.SortedIterator<LineItem> sorted =
+                new ExternalSorter(this.directory, 700).sortLineItemsByValue(lineItems))
+        {
+            Assertions.assertEquals(29, sorted.getRunCount());
+            MutableList<LineItem> result = toList(sorted);
+            // Stable: equal values keep their input order, so names match a stable in-memory sort
+            Assertions.assertEquals(
+                    lineItems.toSortedListBy(LineItem::getValue).collect(LineItem::getName),
+                    result.collect(LineItem::getName));
+            Assertions.assertEquals(
+                    lineItems.collectDouble(LineItem::getValue).toSortedList(),
+                    result.collectDouble(LineItem::getValue));
+        }
+        this.assertNoRunFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void emptyInput() throws IOException
+    {
+        try (ExternalSorter.SortedIterator<LineItem> sorted =
+                new ExternalSorter(this.directory, 10).sortLineItemsByValue(Lists.mutable.empty()))
+        {
+            Assertions.assertFalse(sorted.hasNext());
+            Assertions.assertEquals(0, sorted.getRunCount());
+        }
+        this.assertNoRunFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void closingEarlyDeletesRuns() throws IOException
+    {
+        MutableList<LineItem> lineItems = this.company.getOrders().flatCollect(Order::getLineItems);
+        ExternalSorter.SortedIterator<LineItem> sorted =
+                new ExternalSorter(this.directory, 2).sortLineItemsByValue(lineItems);
+        Assertions.assertTrue(sorted.hasNext());
+        sorted.next();
+        sorted.close();
+        Assertions.assertFalse(sorted.hasNext());
+        this.assertNoRunFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void failedRunIsDeleted() throws IOException
+    {
+        // The name grows after it is sized, so writing it overflows the mapped run
+        LineItem growing = new LineItem("a", 1.0)
+        {
+            private int calls;
+
+            @Override
+            public String getName()
+            {
+                return this.calls++ == 0 ? "a" : "a longer name";
+            }
+        };
+
+        Assertions.assertThrows(
+                RuntimeException.class,
+                () -> new ExternalSorter(this.directory, 10).sortLineItemsByValue(Lists.mutable.with(growing)));
+        this.assertNoRunFiles();
+    }
+
+    private static <T> MutableList<T> toList(Iterator<T> iterator)
+    {
+        MutableList<T> list = Lists.mutable.empty();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private void assertNoRunFiles() throws IOException
+    {
+        try (Stream<Path> leftovers = Files.list(this.directory))
+        {
+            Assertions.assertEquals(0L, leftovers.count(), "run files are deleted");
+        }
+    }
+}
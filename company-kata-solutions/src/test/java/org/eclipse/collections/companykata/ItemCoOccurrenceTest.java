@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ItemCoOccurrenceTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void cupAndSaucer()
+    {
+        ItemCoOccurrence matrix = ItemCoOccurrence.fromOrders(this.company.getOrders());
+
+        Assertions.assertEquals(5L, matrix.getOrderCount());
+        Assertions.assertEquals(2L, matrix.countOf("cup", "saucer"));
+        Assertions.assertEquals(2L, matrix.countOf("saucer", "cup"));
+        Assertions.assertEquals(2L, matrix.countOf("shed", "shed"));
+        Assertions.assertEquals(1L, matrix.countOf("shed", "gnome"));
+        Assertions.assertEquals(0L, matrix.countOf("gnome", "cup"));
+        Assertions.assertEquals(0L, matrix.countOf("gnome", "unknown"));
+        Assertions.assertEquals(2L, matrix.ordersContaining("table"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void topPartners()
+    {
+        ItemCoOccurrence matrix = ItemCoOccurrence.fromOrders(this.company.getOrders());
+
+        Assertions.assertEquals(
+                Lists.mutable.with(PrimitiveTuples.pair("saucer", 2L), PrimitiveTuples.pair("big shed", 1L)),
+                matrix.topPartners("cup", 2));
+        Assertions.assertEquals(
+                Lists.mutable.with(PrimitiveTuples.pair("shed", 1L)),
+                matrix.topPartners("gnome", 5));
+        Assertions.assertTrue(matrix.topPartners("unknown", 5).isEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void incrementalUpdate()
+    {
+        ItemCoOccurrence matrix = ItemCoOccurrence.fromOrders(this.company.getOrders());
+
+        Order order = new Order();
+        order.addLineItems(new LineItem("gnome", 7.5), 2);
+        order.addLineItem(new LineItem("cup", 1.5));
+        matrix.addOrder(order);
+
+        Assertions.assertEquals(6L, matrix.getOrderCount());
+        Assertions.assertEquals(1L, matrix.countOf("gnome", "cup"));
+        Assertions.assertEquals(2L, matrix.ordersContaining("gnome"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void parallelMatchesSerial()
+    {
+        String[] items = {"cup", "saucer", "bowl", "shed", "gnome", "table", "chair", "sofa", "kettle"};
+        MutableList<Order> orders = Lists.mutable.empty();
+        for (int i = 0; i < 1000; i++)
+        {
+            Order order = new Order();
+            for (int j = 0; j < items.length; j++)
+            {
+                if ((i * 31 + j * 17) % (j + 2) == 0)
+                {
+                    order.addLineItem(new LineItem(items[j], j));
+                }
+            }
+            orders.add(order);
+        }
+
+        ItemCoOccurrence serial = ItemCoOccurrence.fromOrders(orders);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            ItemCoOccurrence parallel = ItemCoOccurrence.fromOrdersInParallel(orders, 37, executor);
+
+            Assertions.assertEquals(serial.getOrderCount(), parallel.getOrderCount());
+            Assertions.assertEquals(serial.getItemCount(), parallel.getItemCount());
+            for (String item1 : items)
+            {
+                Assertions.assertEquals(serial.topPartners(item1, 10), parallel.topPartners(item1, 10));
+                for (String item2 : items)
+                {
+                    Assertions.assertEquals(serial.countOf(item1, item2), parallel.countOf(item1, item2));
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void crossMergesDoNotDeadlock() throws Exception
+    {
+        ItemCoOccurrence a = ItemCoOccurrence.fromOrders(this.company.getOrders());
+        ItemCoOccurrence b = ItemCoOccurrence.fromOrders(this.company.getOrders());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            CompletableFuture<Void> aIntoB = CompletableFuture.runAsync(() -> this.mergeRepeatedly(b, a), executor);
+            CompletableFuture<Void> bIntoA = CompletableFuture.runAsync(() -> this.mergeRepeatedly(a, b), executor);
+            CompletableFuture.allOf(aIntoB, bIntoA).get(30L, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        a.merge(a);
+        Assertions.assertEquals(0L, a.getOrderCount() % 10L);
+        Assertions.assertEquals(a.getOrderCount() / 5L * 2L, a.countOf("cup", "saucer"));
+    }
+
+    private void mergeRepeatedly(ItemCoOccurrence target, ItemCoOccurrence source)
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            target.merge(source);
+        }
+    }
+}
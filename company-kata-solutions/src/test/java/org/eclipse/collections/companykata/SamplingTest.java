@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class SamplingTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void reservoirOfCustomers()
+    {
+        ReservoirSample<Customer> sample = ReservoirSample.of(this.company.getCustomers(), 2, 42L);
+
+        Verify.assertSize(2, sample.getSample());
+        Assertions.assertEquals(3L, sample.getSeen());
+        Verify.assertAllSatisfy(sample.getSample(), this.company.getCustomers()::contains);
+        Verify.assertSize(2, sample.getSample().toSet());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void completeSampleIsExact()
+    {
+        MutableList<Order> orders = this.company.getOrders();
+        ReservoirSample<Order> sample = ReservoirSample.of(orders, 10, 1L);
+
+        SampleEstimate total = sample.estimateSum(Order::getValue);
+        Assertions.assertEquals(orders.sumOfDouble(Order::getValue), total.getValue(), 1.0e-9);
+        Assertions.assertEquals(0.0, total.getStandardError(), 0.0);
+        Assertions.assertEquals(1.0, sample.estimateCount(order -> order.getValue() > 800.0).getValue(), 1.0e-9);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void reservoirIsUniform()
+    {
+        int[] counts = new int[10];
+        for (int trial = 0; trial < 20_000; trial++)
+        {
+            ReservoirSample<Integer> sample = ReservoirSample.of(Interval.zeroTo(9), 3, trial);
+            sample.getSample().forEach(each -> counts[each]++);
+        }
+        // Each element is expected 6_000 times; the binomial standard deviation is about 65
+        for (int count : counts)
+        {
+            Assertions.assertEquals(6_000.0, count, 400.0);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void parallelMergeIsUniformAndBounded()
+    {
+        MutableList<Integer> values = Interval.oneTo(100_000).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            ReservoirSample<Integer> sample = ReservoirSample.ofInParallel(values, 1_000, 7_000, 99L, executor);
+
+            Assertions.assertEquals(100_000L, sample.getSeen());
+            Verify.assertSize(1_000, sample.getSample().toSet());
+
+            SampleEstimate total = sample.estimateSum(Integer::doubleValue);
+            double actual = values.sumOfInt(Integer::intValue);
+            Assertions.assertTrue(total.getStandardError() > 0.0);
+            Assertions.assertEquals(actual, total.getValue(), 4.0 * total.getStandardError(), total.toString());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mergeMatchesSinglePass()
+    {
+        ReservoirSample<Integer> left = ReservoirSample.of(Interval.oneTo(500), 20, 1L);
+        ReservoirSample<Integer> right = ReservoirSample.of(Interval.fromTo(501, 1_000), 20, 2L);
+        ReservoirSample<Integer> merged = new ReservoirSample<Integer>(20, 3L).merge(left).merge(right);
+
+        Assertions.assertEquals(1_000L, merged.getSeen());
+        Verify.assertSize(20, merged.getSample());
+        Verify.assertAllSatisfy(
+                merged.getSample(),
+                each -> left.getSample().contains(each) || right.getSample().contains(each));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void bernoulli()
+    {
+        BernoulliSample<Customer> all = BernoulliSample.of(this.company.getCustomers(), 1.0, 5L);
+        Assertions.assertEquals(this.company.getCustomers(), all.getSample());
+
+        BernoulliSample<Integer> sample = BernoulliSample.of(Interval.oneTo(50_000), 0.05, 11L)
+                .merge(BernoulliSample.of(Interval.fromTo(50_001, 100_000), 0.05, 12L));
+
+        Assertions.assertEquals(100_000L, sample.getSeen());
+        Assertions.assertEquals(5_000.0, sample.size(), 300.0);
+        SampleEstimate count = sample.estimateCount(each -> each % 2 == 0);
+        Assertions.assertEquals(50_000.0, count.getValue(), 4.0 * count.getStandardError(), count.toString());
+        SampleEstimate total = sample.estimateSum(Integer::doubleValue);
+        double actual = 100_000.0 * 100_001.0 / 2.0;
+        Assertions.assertEquals(actual, total.getValue(), 4.0 * total.getStandardError(), total.toString());
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sample.merge(new BernoulliSample<>(0.5, 1L)));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void stratifiedByCity()
+    {
+        StratifiedSample<String, Customer> sample =
+                StratifiedSample.of(this.company.getCustomers(), Customer::getCity, 1, 3L);
+
+        Assertions.assertEquals(Sets.mutable.with("London", "Liphook"), sample.getStrata());
+        Assertions.assertEquals(2L, sample.getSeen("London"));
+        Assertions.assertEquals(1L, sample.getSeen("Liphook"));
+        Assertions.assertEquals(
+                Lists.immutable.with(this.company.getCustomerNamed("Mary")),
+                sample.getSample("Liphook"));
+        Verify.assertSize(2, sample.getSample());
+        Verify.assertEmpty(sample.getSample("Paris"));
+
+        SampleEstimate liphook = sample.estimateSum("Liphook", Customer::getTotalOrderValue);
+        Assertions.assertEquals(857.0, liphook.getValue(), 0.0);
+        Assertions.assertEquals(0.0, liphook.getStandardError(), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void stratifiedEstimateCoversSmallStrata()
+    {
+        MutableList<LineItem> lineItems = Lists.mutable.empty();
+        for (int i = 0; i < 50_000; i++)
+        {
+            lineItems.add(new LineItem("bulk", i % 100));
+        }
+        for (int i = 0; i < 30; i++)
+        {
+            lineItems.add(new LineItem("rare", 1_000.0 + i));
+        }
+
+        StratifiedSample<String, LineItem> late =
+                StratifiedSample.of(Lists.mutable.with(new LineItem("rare", 5.0)), LineItem::getName, 200, 18L);
+        StratifiedSample<String, LineItem> sample =
+                StratifiedSample.of(lineItems, LineItem::getName, 200, 17L).merge(late);
+
+        Assertions.assertEquals(31L, sample.getSeen("rare"));
+        Assertions.assertEquals(
+                lineItems.select(each -> "rare".equals(each.getName())).sumOfDouble(LineItem::getValue) + 5.0,
+                sample.estimateSum("rare", LineItem::getValue).getValue(),
+                1.0e-9);
+
+        SampleEstimate total = sample.estimateSum(LineItem::getValue);
+        double actual = lineItems.sumOfDouble(LineItem::getValue) + 5.0;
+        Assertions.assertEquals(actual, total.getValue(), 4.0 * total.getStandardError(), total.toString());
+    }
+}
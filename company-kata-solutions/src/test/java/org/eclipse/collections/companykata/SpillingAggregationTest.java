@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SpillingAggregationTest extends CompanyDomainForKata
+{
+    private static final RecordCodec<Customer> CUSTOMERS = new RecordCodec<Customer>()
+    {
+        @Override
+        public void write(DataOutput out, Customer customer) throws IOException
+        {
+            RecordCodec.writeString(out, customer.getName());
+            RecordCodec.writeString(out, customer.getCity());
+        }
+
+        @Override
+        public Customer read(DataInput in) throws IOException
+        {
+            return new Customer(RecordCodec.readString(in), RecordCodec.readString(in));
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void totalOrderValuesByItem()
+    {
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 3, 2);
+        ObjectDoubleMap<String> map = aggregation.sumByDouble(
+                this.company.getOrders().flatCollect(Order::getLineItems),
+                LineItem::getName,
+                LineItem::getValue);
+
+        Verify.assertSize(12, map);
+        Assertions.assertEquals(100.0, map.get("shed"), 0.0);
+        Assertions.assertEquals(10.5, map.get("cup"), 0.0);
+        Assertions.assertTrue(aggregation.getSpillCount() > 0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void customersByCity()
+    {
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 2, 1);
+        ListMultimap<String, Customer> multimap =
+                aggregation.groupBy(this.company.getCustomers(), Customer::getCity, CUSTOMERS);
+
+        Assertions.assertEquals(
+                this.company.getCustomers().groupBy(Customer::getCity).collectValues(Customer::getName),
+                multimap.collectValues(Customer::getName));
+        Assertions.assertEquals(
+                Lists.mutable.with("Fred", "Bill"),
+                multimap.get("London").collect(Customer::getName));
+        Assertions.assertTrue(aggregation.getSpillCount() > 0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void highCardinalityMatchesInMemory() throws IOException
+    {
+        MutableList<LineItem> lineItems = Lists.mutable.empty();
+        for (int i = 0; i < 20_000; i++)
+        {
+            lineItems.add(new LineItem("sku-" + i * 7919 % 5003, i % 8 * 0.25));
+        }
+
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 8, 500);
+        Assertions.assertEquals(
+                lineItems.sumByDouble(LineItem::getName, LineItem::getValue),
+                aggregation.sumByDouble(lineItems, LineItem::getName, LineItem::getValue));
+        ListMultimap<String, LineItem> groups =
+                aggregation.groupBy(lineItems, LineItem::getName, RecordCodec.LINE_ITEMS);
+        Assertions.assertEquals(
+                lineItems.groupBy(LineItem::getName).collectValues(LineItem::getValue),
+                groups.collectValues(LineItem::getValue));
+        Assertions.assertTrue(aggregation.getSpillCount() > 10);
+        this.assertNoSpillFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mergeBackStaysWithinTheBudget() throws IOException
+    {
+        // 5,000 distinct keys through 2 partitions of at most 100 entries must be partitioned again on merge-back
+        LazyIterable<LineItem> lineItems = Interval.zeroTo(9_999)
+                .asLazy()
+                .collect(i -> new LineItem("sku-" + i % 5_000, 1.0));
+
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 2, 100);
+        ObjectDoubleMap<String> sums = aggregation.sumByDouble(lineItems, LineItem::getName, LineItem::getValue);
+        Verify.assertSize(5_000, sums);
+        Assertions.assertTrue(sums.allSatisfy(sum -> sum == 2.0));
+        Assertions.assertTrue(aggregation.getPeakEntries() <= 101L, () -> "peak " + aggregation.getPeakEntries());
+
+        ListMultimap<String, LineItem> groups =
+                aggregation.groupBy(lineItems, LineItem::getName, RecordCodec.LINE_ITEMS);
+        Assertions.assertEquals(5_000, groups.sizeDistinct());
+        Assertions.assertEquals(10_000, groups.size());
+        Assertions.assertTrue(aggregation.getPeakEntries() <= 101L, () -> "peak " + aggregation.getPeakEntries());
+        this.assertNoSpillFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void hotKeyIsStreamedBackInOrder() throws IOException
+    {
+        LazyIterable<LineItem> lineItems = Interval.zeroTo(4_999)
+                .asLazy()
+                .collect(i -> new LineItem(i % 50 == 0 ? "cold-" + i : "hot", i));
+
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 4, 100);
+        MutableList<String> keys = Lists.mutable.empty();
+        MutableList<LineItem> hot = Lists.mutable.empty();
+        aggregation.groupBy(lineItems, LineItem::getName, RecordCodec.LINE_ITEMS, (key, lineItem) ->
+        {
+            if (keys.isEmpty() || !keys.getLast().equals(key))
+            {
+                keys.add(key);
+            }
+            if ("hot".equals(key))
+            {
+                hot.add(lineItem);
+            }
+        });
+
+        Assertions.assertEquals(101, keys.size(), "each key's elements are passed consecutively");
+        Assertions.assertEquals(
+                lineItems.select(lineItem -> "hot".equals(lineItem.getName()))
+                        .collectDouble(LineItem::getValue)
+                        .toList(),
+                hot.collectDouble(LineItem::getValue));
+        Assertions.assertTrue(aggregation.getPeakEntries() <= 101L, () -> "peak " + aggregation.getPeakEntries());
+        this.assertNoSpillFiles();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void keysLongerThan64KbAreSpilled()
+    {
+        String longName = "x".repeat(70_000);
+        MutableList<LineItem> lineItems = Lists.mutable.with(
+                new LineItem(longName, 1.0),
+                new LineItem("cup", 2.0),
+                new LineItem(longName, 3.0),
+                new LineItem("bowl", 4.0));
+
+        SpillingAggregation aggregation = new SpillingAggregation(this.directory, 2, 1);
+        ObjectDoubleMap<String> sums = aggregation.sumByDouble(lineItems, LineItem::getName, LineItem::getValue);
+        Assertions.assertEquals(4.0, sums.get(longName), 0.0);
+        ListMultimap<String, LineItem> groups =
+                aggregation.groupBy(lineItems, LineItem::getName, RecordCodec.LINE_ITEMS);
+        Assertions.assertEquals(2, groups.get(longName).size());
+        Assertions.assertEquals(longName, groups.get(longName).getFirst().getName());
+        Assertions.assertTrue(aggregation.getSpillCount() > 0);
+    }
+
+    private void assertNoSpillFiles() throws IOException
+    {
+        try (Stream<Path> leftovers = Files.list(this.directory))
+        {
+            Assertions.assertEquals(0L, leftovers.count(), "spill files are deleted");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class SupplierOrderJoinTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void index()
+    {
+        SupplierOrderJoin join = SupplierOrderJoin.buildOn(this.company.getSuppliers());
+
+        Assertions.assertEquals(-1, join.itemIdOf("spoon"));
+        int sofa = join.itemIdOf("sofa");
+        Assertions.assertEquals(IntLists.immutable.with(4, 5), join.supplierIdsOf(sofa));
+        Assertions.assertEquals(
+                Lists.mutable.with("Furniture Hamlet", "SFD"),
+                join.suppliersOf("sofa").collect(Supplier::getName));
+        Verify.assertEmpty(join.suppliersOf("spoon"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void innerJoin()
+    {
+        SupplierOrderJoin join = SupplierOrderJoin.buildOn(this.company.getSuppliers());
+        MutableListMultimap<Order, Supplier> suppliersByOrder = join.innerJoin(this.company.getOrders());
+
+        Order fredOrder = this.company.getCustomerNamed("Fred").getOrders().getFirst();
+        Assertions.assertEquals(
+                Lists.mutable.with("Shedtastic", "Splendid Crocks", "Furniture Hamlet", "SFD"),
+                suppliersByOrder.get(fredOrder).collect(Supplier::getName));
+
+        Order billOrder3 = this.company.getCustomerNamed("Bill").getOrders().getLast();
+        Assertions.assertEquals(
+                Lists.mutable.with("Furniture Hamlet"),
+                suppliersByOrder.get(billOrder3).collect(Supplier::getName));
+        Assertions.assertEquals(5, suppliersByOrder.keysView().size());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void semiAndAntiJoin()
+    {
+        Order spoons = new Order();
+        spoons.addLineItem(new LineItem("spoon", 0.5));
+        Customer jo = new Customer("Jo", "Leeds");
+        jo.addOrder(spoons);
+        this.company.addCustomer(jo);
+
+        SupplierOrderJoin join = SupplierOrderJoin.buildOn(this.company.getSuppliers());
+        MutableList<Order> orders = this.company.getOrders();
+
+        Verify.assertSize(5, join.semiJoin(orders));
+        Assertions.assertEquals(Lists.mutable.with(spoons), join.antiJoin(orders));
+        Assertions.assertTrue(join.innerJoin(orders).get(spoons).isEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void parallelInnerJoinMatchesSerial()
+    {
+        String[] items = {"cup", "sofa", "gnome", "spoon", "kettle", "dog"};
+        MutableList<Order> orders = Lists.mutable.empty();
+        for (int i = 0; i < 1000; i++)
+        {
+            Order order = new Order();
+            order.addLineItem(new LineItem(items[i % items.length], 1.0));
+            order.addLineItem(new LineItem(items[i * 7 % 5], 2.0));
+            orders.add(order);
+        }
+
+        SupplierOrderJoin join = SupplierOrderJoin.buildOn(this.company.getSuppliers());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            Assertions.assertEquals(join.innerJoin(orders), join.innerJoinInParallel(orders, 64, executor));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
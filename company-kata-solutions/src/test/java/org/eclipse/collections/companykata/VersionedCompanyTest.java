@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class VersionedCompanyTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void snapshotOfCompany()
+    {
+        VersionedCompany versioned = VersionedCompany.of(this.company);
+        CompanySnapshot snapshot = versioned.snapshot();
+
+        Assertions.assertEquals(1L, snapshot.getVersion());
+        Assertions.assertEquals(3, snapshot.getCustomerCount());
+        Verify.assertIterableSize(5, snapshot.getOrders());
+
+        ObjectDoubleMap<String> totalsByCity =
+                snapshot.getCustomers().sumByDouble(Customer::getCity, snapshot::getTotalOrderValue);
+        Assertions.assertEquals(446.25, totalsByCity.get("London"), 0.0);
+        Assertions.assertEquals(857.0, totalsByCity.get("Liphook"), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void snapshotDoesNotSeeLaterWrites()
+    {
+        VersionedCompany versioned = VersionedCompany.of(this.company);
+        CompanySnapshot before = versioned.snapshot();
+
+        Customer bill = before.getCustomerNamed("Bill");
+        Order order = new Order();
+        order.addLineItem(new LineItem("sofa", 120.0));
+        Assertions.assertEquals(2L, versioned.addOrder(bill, order));
+        Customer jo = new Customer("Jo", "Leeds");
+        Assertions.assertEquals(3L, versioned.addCustomer(jo));
+
+        Assertions.assertEquals(375.25, before.getTotalOrderValue(bill), 0.0);
+        Assertions.assertNull(before.getCustomerNamed("Jo"));
+        Verify.assertIterableSize(5, before.getOrders());
+
+        CompanySnapshot after = versioned.snapshot();
+        Assertions.assertEquals(495.25, after.getTotalOrderValue(bill), 0.0);
+        Assertions.assertSame(jo, after.getCustomerNamed("Jo"));
+        Verify.assertIterableSize(6, after.getOrders());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void unknownCustomer()
+    {
+        VersionedCompany versioned = VersionedCompany.of(this.company);
+        Customer stranger = new Customer("Stranger", "Nowhere");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> versioned.addOrder(stranger, new Order()));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> versioned.addCustomer(this.company.getCustomerNamed("Fred")));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void readersSeeConsistentStateWhileWriting()
+    {
+        VersionedCompany versioned = VersionedCompany.of(this.company);
+        Customer fred = this.company.getCustomerNamed("Fred");
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+        {
+            for (int i = 0; i < 20_000; i++)
+            {
+                Order order = new Order();
+                order.addLineItem(new LineItem("cup", 1.0));
+                versioned.addOrder(fred, order);
+                if (i % 100 == 0)
+                {
+                    versioned.addCustomer(new Customer("Customer " + i, "Leeds"));
+                }
+            }
+        });
+
+        long lastVersion = 0L;
+        while (!writer.isDone())
+        {
+            CompanySnapshot snapshot = versioned.snapshot();
+            double first = snapshot.getOrders().sumOfDouble(Order::getValue);
+            int customers = snapshot.getCustomers().size();
+            double second = snapshot.getOrders().sumOfDouble(Order::getValue);
+
+            Assertions.assertEquals(first, second, 0.0);
+            Assertions.assertEquals(customers, snapshot.getCustomerCount());
+            Assertions.assertTrue(snapshot.getVersion() >= lastVersion);
+            lastVersion = snapshot.getVersion();
+        }
+        writer.join();
+
+        CompanySnapshot last = versioned.snapshot();
+        Assertions.assertEquals(203, last.getCustomerCount());
+        Assertions.assertEquals(20_001, last.getOrders(fred).size());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katasupport;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event emitted around expensive collection operations of the kata domains, such as the {@code flatCollect}
+ * in {@code Company.getOrders()}, the {@code groupBy} and {@code aggregateBy} queries of the company and pet domains
+ * and {@code SchoolGroup.trickOrTreat()}. It carries the operation name, qualified by the domain class, the number of
+ * elements or groups produced and the bytes allocated by the calling thread; JFR adds the duration.
+ * <p>
+ * The event is off by default. Recordings enable it through the {@link #SETTINGS settings profile} shipped with this
+ * module, e.g. {@code -XX:StartFlightRecording:settings=collection-operations.jfc} with a copy of that file. While
+ * no recording enables it, {@link #begin(String)} costs one {@link EventType#isEnabled()} check and returns a shared
+ * event that ignores {@link #end(int)}, so nothing is allocated.
+ */
+@Name(CollectionOperationEvent.NAME)
+@Label("Kata Collection Operation")
+@Category("Eclipse Collections Kata")
+@Description("An expensive collection operation in a kata domain")
+@Enabled(false)
+@StackTrace(false)
+public final class CollectionOperationEvent extends Event
+{
+    public static final String NAME = "org.eclipse.collections.katasupport.CollectionOperation";
+    public static final String SETTINGS = "/collection-operations.jfc";
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+    private static final EventType TYPE = EventType.getEventType(CollectionOperationEvent.class);
+    private static final CollectionOperationEvent DISABLED = new CollectionOperationEvent();
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Element Count")
+    private int elementCount;
+
+    @Label("Allocated")
+    @DataAmount
+    private long allocatedBytes;
+
+    private transient long allocatedBefore;
+
+    /**
+     * Starts timing {@code operation}. Pass the returned event to {@link #end(int)} when the operation completes.
+     */
+    public static CollectionOperationEvent begin(String operation)
+    {
+        if (!TYPE.isEnabled())
+        {
+            return DISABLED;
+        }
+        CollectionOperationEvent event = new CollectionOperationEvent();
+        event.operation = operation;
+        event.allocatedBefore = allocatedBytes();
+        event.begin();
+        return event;
+    }
+
+    public void end(int elementCount)
+    {
+        if (this != DISABLED)
+        {
+            this.end();
+            this.elementCount = elementCount;
+            this.allocatedBytes = Math.max(0L, allocatedBytes() - this.allocatedBefore);
+            if (this.shouldCommit())
+            {
+                this.commit();
+            }
+        }
+    }
+
+    /**
+     * Loads the settings profile that enables this event with no threshold.
+     */
+    public static Configuration settings() throws IOException, ParseException
+    {
+        try (Reader reader = new InputStreamReader(
+                CollectionOperationEvent.class.getResourceAsStream(SETTINGS),
+                StandardCharsets.UTF_8))
+        {
+            return Configuration.create(reader);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean()
+    {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean)
+        {
+            com.sun.management.ThreadMXBean hotSpotThreads = (com.sun.management.ThreadMXBean) threads;
+            if (hotSpotThreads.isThreadAllocatedMemorySupported() && hotSpotThreads.isThreadAllocatedMemoryEnabled())
+            {
+                return hotSpotThreads;
+            }
+        }
+        return null;
+    }
+
+    private static long allocatedBytes()
+    {
+        return THREADS == null ? 0L : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
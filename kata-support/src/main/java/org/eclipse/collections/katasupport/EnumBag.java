@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katasupport;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.predicate.primitive.ObjectIntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.bag.MutableBagMultimap;
+import org.eclipse.collections.impl.bag.mutable.AbstractMutableBag;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+
+/**
+ * A {@link org.eclipse.collections.api.bag.MutableBag} of the constants of one enum, backed by an {@code int[]} of
+ * occurrences indexed by ordinal. Adding is one array increment with no hashing, {@link #occurrencesOf(Object)} is one
+ * array read, and a bag of a small enum such as {@code PetType} or {@code Candy} costs the array and three fields. The
+ * constants of each enum are shared between bags.
+ * <p>
+ * Iteration and {@link #forEachWithOccurrences(ObjectIntProcedure)} visit constants in ordinal order. Equality and hash
+ * codes follow the {@link Bag} contract, so an {@code EnumBag} equals a {@code HashBag} with the same occurrences.
+ * Like {@code HashBag} it is not thread-safe.
+ */
+public final class EnumBag<E extends Enum<E>> extends AbstractMutableBag<E>
+{
+    private static final ClassValue<Enum<?>[]> UNIVERSES = new ClassValue<Enum<?>[]>()
+    {
+        @Override
+        protected Enum<?>[] computeValue(Class<?> type)
+        {
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+
+    private final Class<E> elementType;
+    private final E[] universe;
+    private final int[] counts;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    private EnumBag(Class<E> elementType)
+    {
+        this.elementType = elementType;
+        this.universe = (E[]) UNIVERSES.get(elementType);
+        this.counts = new int[this.universe.length];
+    }
+
+    public static <E extends Enum<E>> EnumBag<E> empty(Class<E> elementType)
+    {
+        return new EnumBag<>(elementType);
+    }
+
+    @SafeVarargs
+    public static <E extends Enum<E>> EnumBag<E> with(Class<E> elementType, E... elements)
+    {
+        EnumBag<E> bag = new EnumBag<>(elementType);
+        for (E element : elements)
+        {
+            bag.add(element);
+        }
+        return bag;
+    }
+
+    public Class<E> getElementType()
+    {
+        return this.elementType;
+    }
+
+    /**
+     * Adds all occurrences of {@code other} to this bag. Bags of the same enum are merged array to array.
+     */
+    public EnumBag<E> merge(Bag<? extends E> other)
+    {
+        if (other instanceof EnumBag<?> && ((EnumBag<?>) other).elementType == this.elementType)
+        {
+            int[] otherCounts = ((EnumBag<?>) other).counts;
+            for (int i = 0; i < this.counts.length; i++)
+            {
+                this.counts[i] += otherCounts[i];
+            }
+            this.size += other.size();
+        }
+        else
+        {
+            other.forEachWithOccurrences(this::addOccurrences);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean add(E item)
+    {
+        this.counts[item.ordinal()]++;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public int addOccurrences(E item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        this.size += occurrences;
+        return this.counts[item.ordinal()] += occurrences;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        int ordinal = this.ordinalOf(item);
+        if (ordinal < 0 || this.counts[ordinal] == 0)
+        {
+            return false;
+        }
+        this.counts[ordinal]--;
+        this.size--;
+        return true;
+    }
+
+    @Override
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        int ordinal = this.ordinalOf(item);
+        if (occurrences == 0 || ordinal < 0 || this.counts[ordinal] == 0)
+        {
+            return false;
+        }
+        int removed = Math.min(occurrences, this.counts[ordinal]);
+        this.counts[ordinal] -= removed;
+        this.size -= removed;
+        return true;
+    }
+
+    @Override
+    public boolean setOccurrences(E item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+        int ordinal = item.ordinal();
+        int original = this.counts[ordinal];
+        if (original == occurrences)
+        {
+            return false;
+        }
+        this.counts[ordinal] = occurrences;
+        this.size += occurrences - original;
+        return true;
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        for (Object item : iterable)
+        {
+            int ordinal = this.ordinalOf(item);
+            if (ordinal >= 0 && this.counts[ordinal] > 0)
+            {
+                this.size -= this.counts[ordinal];
+                this.counts[ordinal] = 0;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> predicate)
+    {
+        boolean changed = false;
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0 && predicate.accept(this.universe[i]))
+            {
+                this.size -= this.counts[i];
+                this.counts[i] = 0;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super E, ? super P> predicate, P parameter)
+    {
+        return this.removeIf(each -> predicate.accept(each, parameter));
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(this.counts, 0);
+        this.size = 0;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        int ordinal = this.ordinalOf(item);
+        return ordinal < 0 ? 0 : this.counts[ordinal];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        int distinct = 0;
+        for (int count : this.counts)
+        {
+            if (count > 0)
+            {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    @Override
+    public void each(Procedure<? super E> procedure)
+    {
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            for (int j = 0; j < this.counts[i]; j++)
+            {
+                procedure.value(this.universe[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super E> procedure)
+    {
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0)
+            {
+                procedure.value(this.universe[i], this.counts[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean anySatisfyWithOccurrences(ObjectIntPredicate<? super E> predicate)
+    {
+        return this.detectWithOccurrences(predicate) != null;
+    }
+
+    @Override
+    public boolean allSatisfyWithOccurrences(ObjectIntPredicate<? super E> predicate)
+    {
+        return this.detectWithOccurrences((each, count) -> !predicate.accept(each, count)) == null;
+    }
+
+    @Override
+    public boolean noneSatisfyWithOccurrences(ObjectIntPredicate<? super E> predicate)
+    {
+        return this.detectWithOccurrences(predicate) == null;
+    }
+
+    @Override
+    public E detectWithOccurrences(ObjectIntPredicate<? super E> predicate)
+    {
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0 && predicate.accept(this.universe[i], this.counts[i]))
+            {
+                return this.universe[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public EnumBag<E> selectByOccurrences(IntPredicate predicate)
+    {
+        EnumBag<E> result = new EnumBag<>(this.elementType);
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0 && predicate.accept(this.counts[i]))
+            {
+                result.counts[i] = this.counts[i];
+                result.size += this.counts[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MutableMap<E, Integer> toMapOfItemToCount()
+    {
+        MutableMap<E, Integer> map = Maps.mutable.empty();
+        this.forEachWithOccurrences(map::put);
+        return map;
+    }
+
+    @Override
+    public <V> MutableBagMultimap<V, E> groupBy(Function<? super E, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public <V> MutableBagMultimap<V, E> groupByEach(Function<? super E, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public EnumBag<E> newEmpty()
+    {
+        return new EnumBag<>(this.elementType);
+    }
+
+    @Override
+    public EnumBag<E> with(E element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public EnumBag<E> without(E element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public EnumBag<E> withAll(Iterable<? extends E> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public EnumBag<E> withoutAll(Iterable<? extends E> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new EnumBagIterator();
+    }
+
+    @Override
+    protected RichIterable<E> getKeysView()
+    {
+        MutableList<E> keys = Lists.mutable.empty();
+        this.forEachWithOccurrences((each, count) -> keys.add(each));
+        return keys;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.size != bag.size() || this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0 && bag.occurrencesOf(this.universe[i]) != this.counts[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int i = 0; i < this.counts.length; i++)
+        {
+            if (this.counts[i] > 0)
+            {
+                hashCode += this.universe[i].hashCode() ^ this.counts[i];
+            }
+        }
+        return hashCode;
+    }
+
+    private int ordinalOf(Object item)
+    {
+        return this.elementType.isInstance(item) ? ((Enum<?>) item).ordinal() : -1;
+    }
+
+    private final class EnumBagIterator implements Iterator<E>
+    {
+        private int ordinal = -1;
+        private int remaining;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext()
+        {
+            if (this.remaining > 0)
+            {
+                return true;
+            }
+            for (int i = this.ordinal + 1; i < EnumBag.this.counts.length; i++)
+            {
+                if (EnumBag.this.counts[i] > 0)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public E next()
+        {
+            if (this.remaining == 0)
+            {
+                int next = this.ordinal + 1;
+                while (next < EnumBag.this.counts.length && EnumBag.this.counts[next] == 0)
+                {
+                    next++;
+                }
+                if (next == EnumBag.this.counts.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                this.ordinal = next;
+                this.remaining = EnumBag.this.counts[next];
+            }
+            this.remaining--;
+            this.canRemove = true;
+            return EnumBag.this.universe[this.ordinal];
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            EnumBag.this.counts[this.ordinal]--;
+            EnumBag.this.size--;
+            this.canRemove = false;
+        }
+    }
+}
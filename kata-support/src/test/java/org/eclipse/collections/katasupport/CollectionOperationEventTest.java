@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katasupport;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CollectionOperationEventTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void recordsWithSettings(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("operations.jfr");
+        try (Recording recording = new Recording(CollectionOperationEvent.settings()))
+        {
+            recording.start();
+            CollectionOperationEvent event = CollectionOperationEvent.begin("Test.operation");
+            byte[] allocated = new byte[1_024];
+            event.end(allocated.length);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        MutableList<RecordedEvent> events = CollectionOperationEventTest.read(file);
+        Verify.assertSize(1, events);
+        RecordedEvent event = events.getOnly();
+        Assertions.assertEquals("Test.operation", event.getString("operation"));
+        Assertions.assertEquals(1_024, event.getInt("elementCount"));
+        Assertions.assertTrue(event.getLong("allocatedBytes") >= 0L);
+        Assertions.assertFalse(event.getDuration().isNegative());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void disabledSharesOneEventAndRecordsNothing(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("empty.jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.start();
+            CollectionOperationEvent first = CollectionOperationEvent.begin("Test.first");
+            CollectionOperationEvent second = CollectionOperationEvent.begin("Test.second");
+            Assertions.assertSame(first, second);
+            first.end(1);
+            second.end(2);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Verify.assertEmpty(CollectionOperationEventTest.read(file));
+    }
+
+    private static MutableList<RecordedEvent> read(Path file) throws Exception
+    {
+        return Lists.adapt(RecordingFile.readAllEvents(file))
+                .select(event -> CollectionOperationEvent.NAME.equals(event.getEventType().getName()));
+    }
+}
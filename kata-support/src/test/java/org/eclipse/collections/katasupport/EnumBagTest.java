@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katasupport;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class EnumBagTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void countsLikeHashBag()
+    {
+        MutableList<String> days = Lists.mutable.with(
+                "2021-10-29", "2021-10-30", "2021-10-31", "2021-11-05", "2021-11-06", "2021-11-13", "2021-11-19");
+        MutableBag<DayOfWeek> expected = days.countBy(day -> LocalDate.parse(day).getDayOfWeek());
+        EnumBag<DayOfWeek> actual =
+                days.countBy(day -> LocalDate.parse(day).getDayOfWeek(), EnumBag.empty(DayOfWeek.class));
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(actual, expected);
+        Assertions.assertEquals(expected.hashCode(), actual.hashCode());
+        Assertions.assertEquals(7, actual.size());
+        Assertions.assertEquals(3, actual.sizeDistinct());
+        Assertions.assertEquals(3, actual.occurrencesOf(DayOfWeek.FRIDAY));
+        Assertions.assertEquals(0, actual.occurrencesOf("FRIDAY"));
+        Assertions.assertEquals(expected.toMapOfItemToCount(), actual.toMapOfItemToCount());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void topOccurrencesAndSelection()
+    {
+        EnumBag<DayOfWeek> bag = EnumBag.empty(DayOfWeek.class);
+        bag.addOccurrences(DayOfWeek.TUESDAY, 5);
+        bag.addOccurrences(DayOfWeek.MONDAY, 3);
+        bag.addOccurrences(DayOfWeek.FRIDAY, 3);
+        bag.add(DayOfWeek.SATURDAY);
+
+        Assertions.assertEquals(
+                Lists.mutable.with(PrimitiveTuples.pair(DayOfWeek.TUESDAY, 5)),
+                bag.topOccurrences(1));
+        MutableBag<DayOfWeek> threes = Bags.mutable.withOccurrences(DayOfWeek.MONDAY, 3);
+        threes.addOccurrences(DayOfWeek.FRIDAY, 3);
+        Assertions.assertEquals(threes, bag.selectByOccurrences(count -> count == 3));
+        Assertions.assertEquals(DayOfWeek.MONDAY, bag.detectWithOccurrences((each, count) -> count == 3));
+        Assertions.assertTrue(bag.allSatisfyWithOccurrences((each, count) -> count > 0));
+        Assertions.assertTrue(bag.noneSatisfyWithOccurrences((each, count) -> count > 5));
+        Assertions.assertEquals(
+                Bags.mutable.with(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY),
+                bag.collectWithOccurrences((each, count) -> each));
+        Verify.assertInstanceOf(EnumBag.class, bag.newEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mutations()
+    {
+        EnumBag<DayOfWeek> bag = EnumBag.with(DayOfWeek.class, DayOfWeek.MONDAY, DayOfWeek.MONDAY, DayOfWeek.TUESDAY);
+
+        Assertions.assertTrue(bag.remove(DayOfWeek.MONDAY));
+        Assertions.assertFalse(bag.remove(DayOfWeek.THURSDAY));
+        Assertions.assertFalse(bag.remove("TUESDAY"));
+        Assertions.assertTrue(bag.setOccurrences(DayOfWeek.THURSDAY, 4));
+        Assertions.assertFalse(bag.setOccurrences(DayOfWeek.THURSDAY, 4));
+        Assertions.assertTrue(bag.removeOccurrences(DayOfWeek.THURSDAY, 10));
+        Assertions.assertEquals(2, bag.size());
+        Assertions.assertTrue(bag.removeIf(DayOfWeek.TUESDAY::equals));
+        Assertions.assertEquals(Bags.mutable.with(DayOfWeek.MONDAY), bag);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bag.addOccurrences(DayOfWeek.MONDAY, -1));
+
+        bag.with(DayOfWeek.FRIDAY)
+                .withAll(Lists.mutable.with(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY))
+                .without(DayOfWeek.SATURDAY);
+        Assertions.assertEquals(Bags.mutable.with(DayOfWeek.MONDAY, DayOfWeek.FRIDAY, DayOfWeek.FRIDAY), bag);
+        Assertions.assertTrue(bag.removeAllIterable(Lists.mutable.with(DayOfWeek.FRIDAY)));
+        bag.clear();
+        Verify.assertEmpty(bag);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void merge()
+    {
+        EnumBag<DayOfWeek> bag = EnumBag.with(DayOfWeek.class, DayOfWeek.MONDAY, DayOfWeek.TUESDAY);
+        bag.merge(EnumBag.with(DayOfWeek.class, DayOfWeek.TUESDAY, DayOfWeek.SATURDAY));
+        bag.merge(Bags.mutable.withOccurrences(DayOfWeek.WEDNESDAY, 2));
+
+        MutableBag<DayOfWeek> expected =
+                Bags.mutable.with(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.TUESDAY, DayOfWeek.SATURDAY);
+        expected.addOccurrences(DayOfWeek.WEDNESDAY, 2);
+        Assertions.assertEquals(expected, bag);
+        Assertions.assertEquals(expected.hashCode(), bag.hashCode());
+        Assertions.assertEquals(6, bag.size());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void iteratorVisitsOrdinalOrderAndRemoves()
+    {
+        EnumBag<DayOfWeek> bag =
+                EnumBag.with(DayOfWeek.class, DayOfWeek.SATURDAY, DayOfWeek.MONDAY, DayOfWeek.SATURDAY);
+        Assertions.assertEquals(
+                Lists.mutable.with(DayOfWeek.MONDAY, DayOfWeek.SATURDAY, DayOfWeek.SATURDAY),
+                bag.toList());
+
+        Iterator<DayOfWeek> iterator = bag.iterator();
+        Assertions.assertThrows(IllegalStateException.class, iterator::remove);
+        Assertions.assertEquals(DayOfWeek.MONDAY, iterator.next());
+        Assertions.assertEquals(DayOfWeek.SATURDAY, iterator.next());
+        iterator.remove();
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertEquals(DayOfWeek.SATURDAY, iterator.next());
+        Assertions.assertFalse(iterator.hasNext());
+        Assertions.assertEquals(Bags.mutable.with(DayOfWeek.MONDAY, DayOfWeek.SATURDAY), bag);
+
+        ObjectIntPair<DayOfWeek> saturdays = bag.topOccurrences(1).getFirst();
+        Assertions.assertEquals(1, saturdays.getTwo());
+    }
+}
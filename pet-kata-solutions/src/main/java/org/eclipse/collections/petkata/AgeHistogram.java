@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.map.primitive.IntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+
+/**
+ * The number of pets of each age. The statistics are answered from the counts in time proportional to the number of
+ * distinct ages rather than the number of pets; percentiles interpolate like {@link IntStatistics}. A histogram is
+ * changed only by its owner, such as the {@link PersonRegistry} that maintains one per {@link PetType}.
+ */
+public class AgeHistogram
+{
+    private final MutableIntIntMap countsByAge;
+    private long count;
+
+    AgeHistogram()
+    {
+        this(IntIntMaps.mutable.empty());
+    }
+
+    AgeHistogram(MutableIntIntMap countsByAge)
+    {
+        this.countsByAge = countsByAge;
+        this.count = countsByAge.sum();
+    }
+
+    void add(int age)
+    {
+        this.countsByAge.addToValue(age, 1);
+        this.count++;
+    }
+
+    public IntIntMap getCountsByAge()
+    {
+        return this.countsByAge.asUnmodifiable();
+    }
+
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    public int getCount(int age)
+    {
+        return this.countsByAge.get(age);
+    }
+
+    public double getMean()
+    {
+        this.checkNotEmpty();
+        long sum = 0L;
+        for (int age : this.countsByAge.keySet().toArray())
+        {
+            sum += (long) age * this.countsByAge.get(age);
+        }
+        return (double) sum / this.count;
+    }
+
+    public double getMedian()
+    {
+        return this.getPercentile(50.0);
+    }
+
+    /**
+     * Returns the {@code percentile}th percentile, for {@code percentile} from 0 to 100.
+     */
+    public double getPercentile(double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        this.checkNotEmpty();
+        int[] ages = this.countsByAge.keySet().toSortedArray();
+        double rank = (this.count - 1L) * percentile / 100.0;
+        long lower = (long) rank;
+        int lowerAge = this.ageAtRank(ages, lower);
+        double fraction = rank - lower;
+        if (fraction == 0.0)
+        {
+            return lowerAge;
+        }
+        return lowerAge + fraction * (this.ageAtRank(ages, lower + 1L) - lowerAge);
+    }
+
+    /**
+     * Returns the most common age, the youngest of them on a tie.
+     */
+    public int getMode()
+    {
+        this.checkNotEmpty();
+        int mode = 0;
+        int modeCount = 0;
+        for (int age : this.countsByAge.keySet().toSortedArray())
+        {
+            int ageCount = this.countsByAge.get(age);
+            if (ageCount > modeCount)
+            {
+                mode = age;
+                modeCount = ageCount;
+            }
+        }
+        return mode;
+    }
+
+    private int ageAtRank(int[] sortedAges, long rank)
+    {
+        long seen = 0L;
+        for (int age : sortedAges)
+        {
+            seen += this.countsByAge.get(age);
+            if (rank < seen)
+            {
+                return age;
+            }
+        }
+        throw new IllegalStateException("Rank " + rank + " beyond " + seen + " ages");
+    }
+
+    private void checkNotEmpty()
+    {
+        if (this.count == 0L)
+        {
+            throw new ArithmeticException("No ages in the histogram");
+        }
+    }
+}
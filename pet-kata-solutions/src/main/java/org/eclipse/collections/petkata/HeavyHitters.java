@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.api.tuple.primitive.ObjectLongPair;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+
+/**
+ * The most frequent items of an unbounded stream, counted in bounded memory by the Space-Saving algorithm. At most
+ * {@code capacity} items are counted at a time; an item arriving when the summary is full takes over the least
+ * counted item's count. Every count is at least the item's true number of occurrences and overstates it by at most
+ * {@link #getMaxError()}, which never exceeds {@code total / capacity}, so any item occurring more than that is sure
+ * to be counted. {@link #withMaxError(double)} sizes a summary from that bound.
+ * <p>
+ * {@link #topOccurrences(int)} answers like {@link org.eclipse.collections.api.bag.Bag#topOccurrences(int)} with
+ * {@code long} counts, and is exact while no more than {@code capacity} distinct items have been added. Summaries
+ * built on separate threads or partitions {@link #merge(HeavyHitters) merge} with the error bounds added. Summaries
+ * are not thread-safe. {@link IntHeavyHitters} counts {@code int} items without boxing.
+ */
+public final class HeavyHitters<T> extends SpaceSavingCounters
+{
+    private final Object[] items;
+    private final MutableObjectIntMap<T> slotsByItem;
+
+    private HeavyHitters(int capacity)
+    {
+        super(capacity);
+        this.items = new Object[capacity];
+        this.slotsByItem = ObjectIntMaps.mutable.withInitialCapacity(capacity);
+    }
+
+    public static <T> HeavyHitters<T> withCapacity(int capacity)
+    {
+        return new HeavyHitters<>(capacity);
+    }
+
+    /**
+     * Returns a summary whose counts overstate by at most {@code maxError} of the total, e.g. 0.001 for 0.1%.
+     */
+    public static <T> HeavyHitters<T> withMaxError(double maxError)
+    {
+        return new HeavyHitters<>(SpaceSavingCounters.capacityForMaxError(maxError));
+    }
+
+    public HeavyHitters<T> add(T item)
+    {
+        return this.addOccurrences(item, 1L);
+    }
+
+    public HeavyHitters<T> addAll(Iterable<? extends T> items)
+    {
+        items.forEach(this::add);
+        return this;
+    }
+
+    public HeavyHitters<T> addOccurrences(T item, long occurrences)
+    {
+        SpaceSavingCounters.checkOccurrences(occurrences);
+        if (occurrences == 0L)
+        {
+            return this;
+        }
+        this.addToTotal(occurrences);
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        if (slot != -1)
+        {
+            this.increment(slot, occurrences);
+        }
+        else if (!this.isFull())
+        {
+            this.put(item, this.newItemSlot(occurrences));
+        }
+        else
+        {
+            this.slotsByItem.remove(this.items[this.minimumSlot()]);
+            this.put(item, this.replaceMinimum(occurrences));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the estimated occurrences of {@code item}, or zero if it is not counted.
+     */
+    public long occurrencesOf(T item)
+    {
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        return slot == -1 ? 0L : this.count(slot);
+    }
+
+    /**
+     * Returns how many occurrences {@link #occurrencesOf(Object)} of {@code item} may overstate.
+     */
+    public long errorOf(T item)
+    {
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        return slot == -1 ? 0L : this.error(slot);
+    }
+
+    /**
+     * Returns the occurrences of {@code item} that are certain, its count less its error.
+     */
+    public long guaranteedOccurrencesOf(T item)
+    {
+        return this.occurrencesOf(item) - this.errorOf(item);
+    }
+
+    public MutableList<ObjectLongPair<T>> topOccurrences(int count)
+    {
+        IntList slots = this.topSlots(count);
+        MutableList<ObjectLongPair<T>> result = Lists.mutable.withInitialCapacity(slots.size());
+        slots.forEach(slot -> result.add(PrimitiveTuples.pair(this.item(slot), this.count(slot))));
+        return result;
+    }
+
+    /**
+     * Adds the counts of {@code other} to this summary and keeps the {@code capacity} highest. An item counted by only
+     * one summary is assumed to have the other's {@link #getMaxError()} occurrences there, so counts still never
+     * understate, and the error bounds add up. An item neither summary counted may have had both bounds, so their
+     * sum is kept as the {@link #getMaxError()} of the result even when it is not full.
+     */
+    public HeavyHitters<T> merge(HeavyHitters<? extends T> other)
+    {
+        HeavyHitters<T> union = new HeavyHitters<>(this.size() + other.size());
+        long thisMissing = this.getMaxError();
+        long otherMissing = other.getMaxError();
+        for (int slot = 0; slot < this.size(); slot++)
+        {
+            T item = this.item(slot);
+            int otherSlot = other.slotsByItem.getIfAbsent(item, -1);
+            long otherCount = otherSlot == -1 ? otherMissing : other.count(otherSlot);
+            long otherError = otherSlot == -1 ? otherMissing : other.error(otherSlot);
+            union.put(item, union.newSlot(this.count(slot) + otherCount, this.error(slot) + otherError));
+        }
+        for (int slot = 0; slot < other.size(); slot++)
+        {
+            T item = other.item(slot);
+            if (!this.slotsByItem.containsKey(item))
+            {
+                union.put(item, union.newSlot(other.count(slot) + thisMissing, other.error(slot) + thisMissing));
+            }
+        }
+
+        IntList keep = union.highestSlots(this.getCapacity());
+        this.clearSlots(thisMissing + otherMissing);
+        this.slotsByItem.clear();
+        Arrays.fill(this.items, null);
+        this.addToTotal(other.getTotal());
+        keep.forEach(slot -> this.put(union.item(slot), this.newSlot(union.count(slot), union.error(slot))));
+        return this;
+    }
+
+    private void put(T item, int slot)
+    {
+        this.items[slot] = item;
+        this.slotsByItem.put(item, slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int slot)
+    {
+        return (T) this.items[slot];
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.tuple.primitive.IntLongPair;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+
+/**
+ * The most frequent {@code int} items of an unbounded stream, counted in bounded memory by the Space-Saving
+ * algorithm. This is the primitive form of {@link HeavyHitters}, with the same error bounds, merging and
+ * {@link #topOccurrences(int)}, and it never boxes an item. Summaries are not thread-safe.
+ */
+public final class IntHeavyHitters extends SpaceSavingCounters
+{
+    private final int[] items;
+    private final MutableIntIntMap slotsByItem;
+
+    private IntHeavyHitters(int capacity)
+    {
+        super(capacity);
+        this.items = new int[capacity];
+        this.slotsByItem = IntIntMaps.mutable.withInitialCapacity(capacity);
+    }
+
+    public static IntHeavyHitters withCapacity(int capacity)
+    {
+        return new IntHeavyHitters(capacity);
+    }
+
+    /**
+     * Returns a summary whose counts overstate by at most {@code maxError} of the total, e.g. 0.001 for 0.1%.
+     */
+    public static IntHeavyHitters withMaxError(double maxError)
+    {
+        return new IntHeavyHitters(SpaceSavingCounters.capacityForMaxError(maxError));
+    }
+
+    public IntHeavyHitters add(int item)
+    {
+        return this.addOccurrences(item, 1L);
+    }
+
+    public IntHeavyHitters addAll(IntIterable items)
+    {
+        items.forEach(this::add);
+        return this;
+    }
+
+    public IntHeavyHitters addOccurrences(int item, long occurrences)
+    {
+        SpaceSavingCounters.checkOccurrences(occurrences);
+        if (occurrences == 0L)
+        {
+            return this;
+        }
+        this.addToTotal(occurrences);
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        if (slot != -1)
+        {
+            this.increment(slot, occurrences);
+        }
+        else if (!this.isFull())
+        {
+            this.put(item, this.newItemSlot(occurrences));
+        }
+        else
+        {
+            this.slotsByItem.remove(this.items[this.minimumSlot()]);
+            this.put(item, this.replaceMinimum(occurrences));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the estimated occurrences of {@code item}, or zero if it is not counted.
+     */
+    public long occurrencesOf(int item)
+    {
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        return slot == -1 ? 0L : this.count(slot);
+    }
+
+    /**
+     * Returns how many occurrences {@link #occurrencesOf(int)} of {@code item} may overstate.
+     */
+    public long errorOf(int item)
+    {
+        int slot = this.slotsByItem.getIfAbsent(item, -1);
+        return slot == -1 ? 0L : this.error(slot);
+    }
+
+    public long guaranteedOccurrencesOf(int item)
+    {
+        return this.occurrencesOf(item) - this.errorOf(item);
+    }
+
+    public MutableList<IntLongPair> topOccurrences(int count)
+    {
+        IntList slots = this.topSlots(count);
+        MutableList<IntLongPair> result = Lists.mutable.withInitialCapacity(slots.size());
+        slots.forEach(slot -> result.add(PrimitiveTuples.pair(this.items[slot], this.count(slot))));
+        return result;
+    }
+
+    /**
+     * Adds the counts of {@code other} to this summary as {@link HeavyHitters#merge(HeavyHitters)} does.
+     */
+    public IntHeavyHitters merge(IntHeavyHitters other)
+    {
+        IntHeavyHitters union = new IntHeavyHitters(this.size() + other.size());
+        long thisMissing = this.getMaxError();
+        long otherMissing = other.getMaxError();
+        for (int slot = 0; slot < this.size(); slot++)
+        {
+            int item = this.items[slot];
+            int otherSlot = other.slotsByItem.getIfAbsent(item, -1);
+            long otherCount = otherSlot == -1 ? otherMissing : other.count(otherSlot);
+            long otherError = otherSlot == -1 ? otherMissing : other.error(otherSlot);
+            union.put(item, union.newSlot(this.count(slot) + otherCount, this.error(slot) + otherError));
+        }
+        for (int slot = 0; slot < other.size(); slot++)
+        {
+            int item = other.items[slot];
+            if (!this.slotsByItem.containsKey(item))
+            {
+                union.put(item, union.newSlot(other.count(slot) + thisMissing, other.error(slot) + thisMissing));
+            }
+        }
+
+        IntList keep = union.highestSlots(this.getCapacity());
+        this.clearSlots(thisMissing + otherMissing);
+        this.slotsByItem.clear();
+        this.addToTotal(other.getTotal());
+        keep.forEach(slot -> this.put(union.items[slot], this.newSlot(union.count(slot), union.error(slot))));
+        return this;
+    }
+
+    private void put(int item, int slot)
+    {
+        this.items[slot] = item;
+        this.slotsByItem.put(item, slot);
+    }
+}
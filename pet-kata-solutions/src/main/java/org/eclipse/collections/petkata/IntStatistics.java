@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.IntIterable;
+
+/**
+ * Order statistics of {@code int} values computed by selection rather than sorting.
+ * <p>
+ * Each operation copies the values once into a scratch array and runs quickselect with a three-way partition, which
+ * is linear on average and stays linear when, as with pet ages, the values repeat a lot. The {@code inPlace}
+ * variants work on a caller's array directly, so a scratch buffer can be reused across calls; they reorder its
+ * first {@code size} elements. Percentiles interpolate linearly between the closest ranks, so the 50th percentile
+ * equals {@link IntIterable#median()}.
+ */
+public final class IntStatistics
+{
+    private IntStatistics()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Returns the median of {@code values}.
+     *
+     * @throws ArithmeticException if {@code values} is empty, as {@link IntIterable#median()} does
+     */
+    public static double median(IntIterable values)
+    {
+        return medianInPlace(values.toArray(), values.size());
+    }
+
+    public static double medianInPlace(int[] values, int size)
+    {
+        return percentileInPlace(values, size, 50.0);
+    }
+
+    /**
+     * Returns the {@code percentile}th percentile of {@code values}, for {@code percentile} from 0 to 100.
+     *
+     * @throws ArithmeticException if {@code values} is empty
+     */
+    public static double percentile(IntIterable values, double percentile)
+    {
+        return percentileInPlace(values.toArray(), values.size(), percentile);
+    }
+
+    /**
+     * Returns each of {@code percentiles} of {@code values}, selecting on one scratch copy.
+     */
+    public static double[] percentiles(IntIterable values, double... percentiles)
+    {
+        int[] scratch = values.toArray();
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++)
+        {
+            result[i] = percentileInPlace(scratch, scratch.length, percentiles[i]);
+        }
+        return result;
+    }
+
+    public static double percentileInPlace(int[] values, int size, double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (size == 0)
+        {
+            throw new ArithmeticException("Percentile of an empty collection is undefined");
+        }
+        double rank = (size - 1) * percentile / 100.0;
+        int lower = (int) rank;
+        int lowerValue = select(values, size, lower);
+        double fraction = rank - lower;
+        if (fraction == 0.0)
+        {
+            return lowerValue;
+        }
+        // selection leaves the larger values after position lower, so the next rank is their minimum
+        int upperValue = values[lower + 1];
+        for (int i = lower + 2; i < size; i++)
+        {
+            upperValue = Math.min(upperValue, values[i]);
+        }
+        return lowerValue + fraction * (upperValue - lowerValue);
+    }
+
+    /**
+     * Returns the value of rank {@code k} (zero-based) among the first {@code size} elements of {@code values},
+     * reordering them so that no element before position {@code k} is greater and none after it is smaller.
+     */
+    public static int select(int[] values, int size, int k)
+    {
+        if (k < 0 || k >= size)
+        {
+            throw new IndexOutOfBoundsException("Rank " + k + " out of bounds for size " + size);
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low < high)
+        {
+            int pivot = medianOfThree(values[low], values[(low + high) >>> 1], values[high]);
+            int lessThan = low;
+            int greaterThan = high;
+            int i = low;
+            while (i <= greaterThan)
+            {
+                int value = values[i];
+                if (value < pivot)
+                {
+                    swap(values, lessThan++, i++);
+                }
+                else if (value > pivot)
+                {
+                    swap(values, i, greaterThan--);
+                }
+                else
+                {
+                    i++;
+                }
+            }
+            if (k < lessThan)
+            {
+                high = lessThan - 1;
+            }
+            else if (k > greaterThan)
+            {
+                low = greaterThan + 1;
+            }
+            else
+            {
+                return pivot;
+            }
+        }
+        return values[k];
+    }
+
+    private static int medianOfThree(int a, int b, int c)
+    {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(int[] values, int i, int j)
+    {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
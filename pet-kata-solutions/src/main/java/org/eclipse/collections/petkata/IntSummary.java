@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.block.procedure.primitive.IntProcedure;
+
+/**
+ * A one-pass summary of {@code int} values: count, min, max, sum, mean and variance. The mean and variance are
+ * accumulated with Welford's update, and two summaries of disjoint values {@link #merge(IntSummary) merge} exactly
+ * with Chan's formula, so summaries built over chunks in parallel combine into the summary of the whole.
+ * <p>
+ * Like {@link java.util.IntSummaryStatistics}, an empty summary has a min of {@link Integer#MAX_VALUE}, a max of
+ * {@link Integer#MIN_VALUE} and a mean of zero. Summaries are not thread-safe.
+ */
+public class IntSummary implements IntProcedure
+{
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private long sum;
+    private double mean;
+    private double sumOfSquaredDeviations;
+
+    public static IntSummary of(IntIterable values)
+    {
+        IntSummary summary = new IntSummary();
+        values.forEach(summary);
+        return summary;
+    }
+
+    @Override
+    public void value(int each)
+    {
+        this.add(each);
+    }
+
+    public IntSummary add(int value)
+    {
+        this.count++;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+        this.sum += value;
+        double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.sumOfSquaredDeviations += delta * (value - this.mean);
+        return this;
+    }
+
+    /**
+     * Adds the values summarized by {@code other} to this summary.
+     */
+    public IntSummary merge(IntSummary other)
+    {
+        if (other.count == 0L)
+        {
+            return this;
+        }
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.count / total;
+        this.sumOfSquaredDeviations += other.sumOfSquaredDeviations
+                + delta * delta * ((double) this.count * other.count / total);
+        this.count = total;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+        this.sum += other.sum;
+        return this;
+    }
+
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    public int getMin()
+    {
+        return this.min;
+    }
+
+    public int getMax()
+    {
+        return this.max;
+    }
+
+    public long getSum()
+    {
+        return this.sum;
+    }
+
+    public double getMean()
+    {
+        return this.mean;
+    }
+
+    /**
+     * Returns the population variance, or zero when empty.
+     */
+    public double getVariance()
+    {
+        return this.count == 0L ? 0.0 : this.sumOfSquaredDeviations / this.count;
+    }
+
+    /**
+     * Returns the sample variance, with Bessel's correction, or zero for fewer than two values.
+     */
+    public double getSampleVariance()
+    {
+        return this.count < 2L ? 0.0 : this.sumOfSquaredDeviations / (this.count - 1L);
+    }
+
+    public double getStandardDeviation()
+    {
+        return Math.sqrt(this.getVariance());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "IntSummary{count=" + this.count
+                + ", min=" + this.min
+                + ", max=" + this.max
+                + ", sum=" + this.sum
+                + ", mean=" + this.mean
+                + ", variance=" + this.getVariance()
+                + '}';
+    }
+}
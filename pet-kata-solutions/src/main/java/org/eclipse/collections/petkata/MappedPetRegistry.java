@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.katasupport.EnumBag;
+
+/**
+ * People and pets stored in memory-mapped files in a directory, read in place without deserializing.
+ * <p>
+ * The directory holds three files, each a 16-byte header (magic, version and the number of bytes in use) followed by
+ * records appended to the tail:
+ * <ul>
+ * <li>{@code people.bin}: per person, the string offsets of the first and last name (8 bytes)</li>
+ * <li>{@code pets.bin}: per pet, the owner id, the string offset of the name, the age as a {@code short}, the type
+ * ordinal and a reserved byte (12 bytes)</li>
+ * <li>{@code strings.bin}: interned names as an {@code int} length and UTF-8 bytes, referred to by offset</li>
+ * </ul>
+ * Ids and rows are the record indexes. A record is written before the header's byte count is advanced past it, so a
+ * crash mid-append leaves the record unused. Opening maps the files and reads three headers, whatever their size, so a
+ * restart does not depend on the number of pets; the string dictionary used to intern names is loaded on the first
+ * append only. Files grow by doubling and are remapped as they do; each must stay under 2 GB.
+ * <p>
+ * A registry is meant for one process at a time and is not thread-safe.
+ */
+public final class MappedPetRegistry implements Closeable
+{
+    static final String PEOPLE = "people.bin";
+    static final String PETS = "pets.bin";
+    static final String STRINGS = "strings.bin";
+
+    private static final int PERSON_BYTES = 8;
+    private static final int PET_BYTES = 12;
+    private static final PetType[] PET_TYPES = PetType.values();
+
+    private final Region people;
+    private final Region pets;
+    private final Region strings;
+    private MutableObjectIntMap<String> stringOffsets;
+
+    private MappedPetRegistry(Region people, Region pets, Region strings)
+    {
+        this.people = people;
+        this.pets = pets;
+        this.strings = strings;
+    }
+
+    /**
+     * Opens the registry in {@code directory}, creating the directory and empty files if needed.
+     *
+     * @throws IOException if a file cannot be mapped or is not a registry file
+     */
+    public static MappedPetRegistry open(Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        Region people = new Region(directory.resolve(PEOPLE));
+        try
+        {
+            Region pets = new Region(directory.resolve(PETS));
+            try
+            {
+                return new MappedPetRegistry(people, pets, new Region(directory.resolve(STRINGS)));
+            }
+            catch (IOException e)
+            {
+                pets.close();
+                throw e;
+            }
+        }
+        catch (IOException e)
+        {
+            people.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends {@code person} and its pets, returning its id.
+     */
+    public int add(Person person)
+    {
+        int id = this.addPerson(person.getFirstName(), person.getLastName());
+        person.getPets().forEach(pet -> this.addPet(id, pet.getType(), pet.getName(), pet.getAge()));
+        return id;
+    }
+
+    public int addPerson(String firstName, String lastName)
+    {
+        int first = this.intern(firstName);
+        int last = this.intern(lastName);
+        int position = this.people.reserve(PERSON_BYTES);
+        MappedByteBuffer buffer = this.people.buffer;
+        buffer.putInt(position, first);
+        buffer.putInt(position + 4, last);
+        this.people.commit(PERSON_BYTES);
+        return this.getPersonCount() - 1;
+    }
+
+    public int addPet(int ownerId, PetType petType, String name, int age)
+    {
+        if (ownerId < 0 || ownerId >= this.getPersonCount())
+        {
+            throw new IndexOutOfBoundsException("No person with id " + ownerId);
+        }
+        if (age < 0 || age > Short.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Age out of range: " + age);
+        }
+        int nameOffset = this.intern(name);
+        int position = this.pets.reserve(PET_BYTES);
+        MappedByteBuffer buffer = this.pets.buffer;
+        buffer.putInt(position, ownerId);
+        buffer.putInt(position + 4, nameOffset);
+        buffer.putShort(position + 8, (short) age);
+        buffer.put(position + 10, (byte) petType.ordinal());
+        buffer.put(position + 11, (byte) 0);
+        this.pets.commit(PET_BYTES);
+        return this.getPetCount() - 1;
+    }
+
+    public int getPersonCount()
+    {
+        return this.people.getUsed() / PERSON_BYTES;
+    }
+
+    public int getPetCount()
+    {
+        return this.pets.getUsed() / PET_BYTES;
+    }
+
+    public String getFirstName(int id)
+    {
+        return this.string(this.people.buffer.getInt(this.personPosition(id)));
+    }
+
+    public String getLastName(int id)
+    {
+        return this.string(this.people.buffer.getInt(this.personPosition(id) + 4));
+    }
+
+    public int getOwnerId(int row)
+    {
+        return this.pets.buffer.getInt(this.petPosition(row));
+    }
+
+    public String getPetName(int row)
+    {
+        return this.string(this.pets.buffer.getInt(this.petPosition(row) + 4));
+    }
+
+    public int getAge(int row)
+    {
+        return this.pets.buffer.getShort(this.petPosition(row) + 8);
+    }
+
+    public PetType getType(int row)
+    {
+        return PET_TYPES[this.pets.buffer.get(this.petPosition(row) + 10)];
+    }
+
+    /**
+     * Returns the number of pets of each type, reading only the type byte of each pet record.
+     */
+    public EnumBag<PetType> getPetTypes()
+    {
+        MappedByteBuffer buffer = this.pets.buffer;
+        int end = Region.HEADER_BYTES + this.pets.getUsed();
+        EnumBag<PetType> petTypes = EnumBag.empty(PetType.class);
+        for (int position = Region.HEADER_BYTES + 10; position < end; position += PET_BYTES)
+        {
+            petTypes.add(PET_TYPES[buffer.get(position)]);
+        }
+        return petTypes;
+    }
+
+    /**
+     * Returns the average age of the pets of {@code petType}.
+     *
+     * @throws ArithmeticException if there are no pets of {@code petType}
+     */
+    public double averageAgeOf(PetType petType)
+    {
+        MappedByteBuffer buffer = this.pets.buffer;
+        int end = Region.HEADER_BYTES + this.pets.getUsed();
+        byte ordinal = (byte) petType.ordinal();
+        long sum = 0L;
+        int count = 0;
+        for (int position = Region.HEADER_BYTES; position < end; position += PET_BYTES)
+        {
+            if (buffer.get(position + 10) == ordinal)
+            {
+                sum += buffer.getShort(position + 8);
+                count++;
+            }
+        }
+        if (count == 0)
+        {
+            throw new ArithmeticException("No pets of type " + petType);
+        }
+        return (double) sum / count;
+    }
+
+    /**
+     * Materializes every person with their pets, in id order.
+     */
+    public MutableList<Person> toPeople()
+    {
+        int personCount = this.getPersonCount();
+        MutableList<Person> result = Lists.mutable.withInitialCapacity(personCount);
+        for (int id = 0; id < personCount; id++)
+        {
+            result.add(new Person(this.getFirstName(id), this.getLastName(id)));
+        }
+        int petCount = this.getPetCount();
+        for (int row = 0; row < petCount; row++)
+        {
+            result.get(this.getOwnerId(row)).addPet(this.getType(row), this.getPetName(row), this.getAge(row));
+        }
+        return result;
+    }
+
+    /**
+     * Writes appended records through to the files.
+     */
+    public void force()
+    {
+        this.people.buffer.force();
+        this.pets.buffer.force();
+        this.strings.buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.force();
+        try
+        {
+            this.people.close();
+        }
+        finally
+        {
+            try
+            {
+                this.pets.close();
+            }
+            finally
+            {
+                this.strings.close();
+            }
+        }
+    }
+
+    private int personPosition(int id)
+    {
+        if (id < 0 || id >= this.getPersonCount())
+        {
+            throw new IndexOutOfBoundsException("No person with id " + id);
+        }
+        return Region.HEADER_BYTES + id * PERSON_BYTES;
+    }
+
+    private int petPosition(int row)
+    {
+        if (row < 0 || row >= this.getPetCount())
+        {
+            throw new IndexOutOfBoundsException("No pet in row " + row);
+        }
+        return Region.HEADER_BYTES + row * PET_BYTES;
+    }
+
+    private String string(int offset)
+    {
+        MappedByteBuffer buffer = this.strings.buffer;
+        int position = Region.HEADER_BYTES + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.duplicate().position(position + 4).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int intern(String value)
+    {
+        if (this.stringOffsets == null)
+        {
+            this.stringOffsets = ObjectIntMaps.mutable.empty();
+            int used = this.strings.getUsed();
+            for (int offset = 0; offset < used; offset += 4 + this.strings.buffer.getInt(Region.HEADER_BYTES + offset))
+            {
+                this.stringOffsets.put(this.string(offset), offset);
+            }
+        }
+        int offset = this.stringOffsets.getIfAbsent(value, -1);
+        if (offset == -1)
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int position = this.strings.reserve(4 + bytes.length);
+            this.strings.buffer.putInt(position, bytes.length);
+            this.strings.buffer.duplicate().position(position + 4).put(bytes);
+            offset = this.strings.getUsed();
+            this.strings.commit(4 + bytes.length);
+            this.stringOffsets.put(value, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * One mapped file: a header of magic, version and bytes in use, then the records.
+     */
+    private static final class Region implements Closeable
+    {
+        private static final int MAGIC = 0x50455452;
+        private static final int VERSION = 1;
+        private static final int HEADER_BYTES = 16;
+        private static final int USED = 8;
+        private static final int INITIAL_BYTES = 4_096;
+
+        private final Path file;
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+
+        private Region(Path file) throws IOException
+        {
+            this.file = file;
+            this.channel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try
+            {
+                long size = this.channel.size();
+                if (size == 0L)
+                {
+                    this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, INITIAL_BYTES);
+                    this.buffer.putLong(USED, 0L);
+                    this.buffer.putInt(4, VERSION);
+                    this.buffer.putInt(0, MAGIC);
+                }
+                else if (size < HEADER_BYTES || size > Integer.MAX_VALUE)
+                {
+                    throw new IOException("Not a pet registry file: " + file);
+                }
+                else
+                {
+                    this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+                    if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION
+                            || HEADER_BYTES + this.buffer.getLong(USED) > size)
+                    {
+                        throw new IOException("Not a pet registry file: " + file);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                this.channel.close();
+                throw e;
+            }
+        }
+
+        private int getUsed()
+        {
+            return (int) this.buffer.getLong(USED);
+        }
+
+        /**
+         * Makes room for {@code bytes} more bytes at the tail and returns their position, without committing them.
+         */
+        private int reserve(int bytes)
+        {
+            long end = (long) HEADER_BYTES + this.getUsed() + bytes;
+            if (end > this.buffer.capacity())
+            {
+                long capacity = Math.max(end, 2L * this.buffer.capacity());
+                if (end > Integer.MAX_VALUE)
+                {
+                    throw new IllegalStateException(this.file + " would exceed 2 GB");
+                }
+                try
+                {
+                    this.buffer = this.channel.map(
+                            FileChannel.MapMode.READ_WRITE,
+                            0L,
+                            Math.min(capacity, Integer.MAX_VALUE));
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return HEADER_BYTES + this.getUsed();
+        }
+
+        private void commit(int bytes)
+        {
+            this.buffer.putLong(USED, this.getUsed() + bytes);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            this.channel.close();
+        }
+    }
+}
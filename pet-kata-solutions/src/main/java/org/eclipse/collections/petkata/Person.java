@@ -14,17 +14,37 @@ import org.eclipse.collections.api.IntIterable;
 import org.eclipse.collections.api.bag.Bag;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.katasupport.CollectionOperationEvent;
+import org.eclipse.collections.katasupport.EnumBag;
 
 public class Person
 {
     private final String firstName;
     private final String lastName;
-    private final MutableList<Pet> pets = Lists.mutable.empty();
+    private final int fullNameHash;
+    private MutableList<Pet> pets = Lists.mutable.empty();
+    private byte petTypeMask;
+    private PersonRegistry registry;
+    private int id = -1;
 
     public Person(String firstName, String lastName)
     {
         this.firstName = firstName;
         this.lastName = lastName;
+        this.fullNameHash = fullNameHash(firstName, lastName);
+    }
+
+    /**
+     * Returns {@code (firstName + ' ' + lastName).hashCode()} without building the full name.
+     */
+    static int fullNameHash(String firstName, String lastName)
+    {
+        int hash = firstName.hashCode() * 31 + ' ';
+        for (int i = 0; i < lastName.length(); i++)
+        {
+            hash *= 31;
+        }
+        return hash + lastName.hashCode();
     }
 
     public String getFirstName()
@@ -37,39 +57,123 @@ public class Person
         return this.lastName;
     }
 
+    /**
+     * Returns true if {@code name} is this person's first and last name separated by a space. Compares the pieces in
+     * place rather than building the full name.
+     */
     public boolean named(String name)
     {
-        return name.equals(this.firstName + ' ' + this.lastName);
+        int firstLength = this.firstName.length();
+        return name.length() == firstLength + 1 + this.lastName.length()
+                && name.startsWith(this.firstName)
+                && name.charAt(firstLength) == ' '
+                && name.startsWith(this.lastName, firstLength + 1);
+    }
+
+    int getFullNameHash()
+    {
+        return this.fullNameHash;
+    }
+
+    /**
+     * Returns the id assigned by the {@link PersonRegistry} this person is registered with, or -1.
+     */
+    public int getId()
+    {
+        return this.id;
+    }
+
+    PersonRegistry getRegistry()
+    {
+        return this.registry;
+    }
+
+    /**
+     * Records the registry and id and hands over the pets, which from then on are stored only in the registry's
+     * {@link PetStore}.
+     */
+    MutableList<Pet> register(PersonRegistry newRegistry, int newId)
+    {
+        if (this.registry != null)
+        {
+            throw new IllegalStateException(
+                    this.firstName + ' ' + this.lastName + " is already registered with id " + this.id);
+        }
+        this.registry = newRegistry;
+        this.id = newId;
+        MutableList<Pet> ownPets = this.pets;
+        this.pets = null;
+        return ownPets;
     }
 
     public boolean hasPet(PetType petType)
     {
-        return this.pets.containsBy(Pet::getType, petType);
+        return (this.petTypeMask & petType.bit()) != 0;
+    }
+
+    /**
+     * Returns one bit per {@link PetType} this person owns, by ordinal, kept current by
+     * {@link #addPet(PetType, String, int)}.
+     */
+    byte getPetTypeMask()
+    {
+        return this.petTypeMask;
     }
 
+    /**
+     * Returns the pets. Once this person is registered the pets live only in the registry's {@link PetStore}, and
+     * each call returns a new list rebuilt from it. The list is not a supported way to change the pets: add pets
+     * through {@link #addPet(PetType, String, int)}, as changes made to the list bypass the pet-type mask behind
+     * {@link #hasPet(PetType)} and the indexes of a {@link PersonRegistry}. Use {@link #getPetsView()} to hand the
+     * pets out read-only.
+     */
     public MutableList<Pet> getPets()
     {
-        return this.pets;
+        return this.registry == null ? this.pets : this.registry.getPetStore().getPetsOf(this.id);
+    }
+
+    /**
+     * Returns an unmodifiable view of the pets.
+     */
+    public MutableList<Pet> getPetsView()
+    {
+        return this.getPets().asUnmodifiable();
     }
 
     public Bag<PetType> getPetTypes()
     {
-        return this.pets.countBy(Pet::getType);
+        CollectionOperationEvent event = CollectionOperationEvent.begin("Person.getPetTypes");
+        Bag<PetType> petTypes = this.registry == null
+                ? this.pets.countBy(Pet::getType, EnumBag.empty(PetType.class))
+                : this.registry.getPetStore().getPetTypesOf(this.id);
+        event.end(petTypes.size());
+        return petTypes;
     }
 
     public IntIterable getPetAges()
     {
-        return this.pets.asLazy().collectInt(Pet::getAge);
+        return this.registry == null
+                ? this.pets.asLazy().collectInt(Pet::getAge)
+                : this.registry.getPetStore().getPetAgesOf(this.id);
     }
 
     public Person addPet(PetType petType, String name, int age)
     {
-        this.pets.add(new Pet(petType, name, age));
+        Pet pet = new Pet(petType, name, age);
+        this.petTypeMask |= petType.bit();
+        if (this.registry == null)
+        {
+            this.pets.add(pet);
+        }
+        else
+        {
+            this.registry.petAdded(this, pet);
+        }
         return this;
     }
 
     public boolean isPetPerson()
     {
-        return this.pets.notEmpty();
+        return this.petTypeMask != 0;
     }
 }
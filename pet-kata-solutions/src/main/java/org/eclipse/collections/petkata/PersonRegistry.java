@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.multimap.set.ImmutableSetMultimap;
+import org.eclipse.collections.api.multimap.set.MutableSetMultimap;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+
+/**
+ * The people of the pet domain, each with a dense id in registration order, and indexes over them.
+ * <p>
+ * People are indexed by the hash of their full name, which {@link Person} computes once from its first and last
+ * name. A lookup is one probe of an {@code int} map followed by {@link Person#named(String)} on the few people
+ * sharing that hash, so neither the lookup nor the comparison allocates. Ids sharing a hash are chained through an
+ * {@code int} list in registration order, with the last id of each chain kept so registering appends in constant
+ * time, and the first person registered with a name wins, as with {@code detectWith(Person::named, name)}.
+ * <p>
+ * Pet ownership is indexed by one bitmap per {@link PetType}, with bit {@code id} set when that person owns a pet of
+ * the type. Bitmaps are kept current as registered people add pets, and are combined a word at a time, so counting
+ * the owners of one type but not another is a loop of {@code &}, {@code ~} and {@link Long#bitCount(long)}.
+ * The same ownership is also kept as a {@link MutableSetMultimap} from pet type to people, so fetching the owners of a
+ * type is one map lookup rather than a {@code groupByEach} over everybody. Registering a person moves their pets
+ * into a columnar {@link PetStore}, which is then the only copy and serves both that person's pets and scans across
+ * all pets. Each pet is also counted in an {@link AgeHistogram} for its type, so age statistics per type never
+ * revisit the pets.
+ * <p>
+ * First names, last names and pet names are also indexed by prefix in {@link RadixIndex radix trees} of person ids
+ * and {@link PetStore} rows, so questions like "every owner whose last name starts with Sm" or completing a pet
+ * name visit only the matching names.
+ * <p>
+ * A person can be registered with one registry only. Registries are not thread-safe.
+ */
+public class PersonRegistry
+{
+    private static final int NONE = -1;
+    private static final PetType[] PET_TYPES = PetType.values();
+
+    private final MutableList<Person> people = Lists.mutable.empty();
+    private final MutableIntIntMap firstIdByNameHash = IntIntMaps.mutable.empty();
+    private final MutableIntIntMap lastIdByNameHash = IntIntMaps.mutable.empty();
+    private final MutableIntList nextIdWithSameHash = IntLists.mutable.empty();
+    private long[][] peopleByPetType = new long[PET_TYPES.length][1];
+    private final MutableSetMultimap<PetType, Person> petOwnersByType = Multimaps.mutable.set.empty();
+    private final PetStore pets = new PetStore();
+    private final AgeHistogram[] ageHistograms = new AgeHistogram[PET_TYPES.length];
+    private final RadixIndex idsByFirstName = new RadixIndex();
+    private final RadixIndex idsByLastName = new RadixIndex();
+    private final RadixIndex rowsByPetName = new RadixIndex();
+
+    public PersonRegistry()
+    {
+        for (int i = 0; i < this.ageHistograms.length; i++)
+        {
+            this.ageHistograms[i] = new AgeHistogram();
+        }
+    }
+
+    public static PersonRegistry of(Iterable<Person> people)
+    {
+        PersonRegistry registry = new PersonRegistry();
+        people.forEach(registry::register);
+        return registry;
+    }
+
+    /**
+     * Assigns {@code person} the next id and indexes it.
+     *
+     * @throws IllegalStateException if {@code person} is already registered
+     */
+    public Person register(Person person)
+    {
+        int id = this.people.size();
+        MutableList<Pet> ownPets = person.register(this, id);
+        this.people.add(person);
+        this.nextIdWithSameHash.add(NONE);
+        int hash = person.getFullNameHash();
+        int last = this.lastIdByNameHash.getIfAbsent(hash, NONE);
+        if (last == NONE)
+        {
+            this.firstIdByNameHash.put(hash, id);
+        }
+        else
+        {
+            this.nextIdWithSameHash.set(last, id);
+        }
+        this.lastIdByNameHash.put(hash, id);
+        this.idsByFirstName.add(person.getFirstName(), id);
+        this.idsByLastName.add(person.getLastName(), id);
+        this.ensureBitmapCapacity(id);
+        byte mask = person.getPetTypeMask();
+        for (PetType petType : PET_TYPES)
+        {
+            if ((mask & petType.bit()) != 0)
+            {
+                this.setBit(petType, id);
+                this.petOwnersByType.put(petType, person);
+            }
+        }
+        ownPets.forEach(pet -> this.addPet(pet, id));
+        return person;
+    }
+
+    /**
+     * Called by {@link Person#addPet(PetType, String, int)} to store and index {@code pet} for a registered person.
+     */
+    void petAdded(Person person, Pet pet)
+    {
+        this.setBit(pet.getType(), person.getId());
+        this.petOwnersByType.put(pet.getType(), person);
+        this.addPet(pet, person.getId());
+    }
+
+    private void addPet(Pet pet, int ownerId)
+    {
+        int row = this.pets.add(pet, ownerId);
+        this.rowsByPetName.add(pet.getName(), row);
+        this.ageHistograms[pet.getType().ordinal()].add(pet.getAge());
+    }
+
+    private void setBit(PetType petType, int id)
+    {
+        this.peopleByPetType[petType.ordinal()][id >>> 6] |= 1L << id;
+    }
+
+    private void ensureBitmapCapacity(int id)
+    {
+        int words = (id >>> 6) + 1;
+        if (words > this.peopleByPetType[0].length)
+        {
+            int length = Math.max(words, this.peopleByPetType[0].length * 2);
+            for (int i = 0; i < this.peopleByPetType.length; i++)
+            {
+                this.peopleByPetType[i] = Arrays.copyOf(this.peopleByPetType[i], length);
+            }
+        }
+    }
+
+    public int size()
+    {
+        return this.people.size();
+    }
+
+    public ListIterable<Person> getPeople()
+    {
+        return this.people.asUnmodifiable();
+    }
+
+    public Person getPerson(int id)
+    {
+        return this.people.get(id);
+    }
+
+    /**
+     * Returns the first person registered with {@code fullName}, or null.
+     */
+    public Person getPersonNamed(String fullName)
+    {
+        int id = this.firstIdByNameHash.getIfAbsent(fullName.hashCode(), NONE);
+        while (id != NONE)
+        {
+            Person person = this.people.get(id);
+            if (person.named(fullName))
+            {
+                return person;
+            }
+            id = this.nextIdWithSameHash.get(id);
+        }
+        return null;
+    }
+
+    /**
+     * Resolves each of {@code fullNames} and returns the people in the same order, with null for unknown names.
+     */
+    public MutableList<Person> getPeopleNamed(ListIterable<String> fullNames)
+    {
+        MutableList<Person> result = Lists.mutable.withInitialCapacity(fullNames.size());
+        for (int i = 0; i < fullNames.size(); i++)
+        {
+            result.add(this.getPersonNamed(fullNames.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the people whose first name starts with {@code prefix}, ordered by first name and then id.
+     */
+    public MutableList<Person> getPeopleWithFirstNamePrefix(String prefix)
+    {
+        return this.idsByFirstName.getIdsWithPrefix(prefix).collect(this.people::get, Lists.mutable.empty());
+    }
+
+    /**
+     * Returns the people whose last name starts with {@code prefix}, ordered by last name and then id.
+     */
+    public MutableList<Person> getPeopleWithLastNamePrefix(String prefix)
+    {
+        return this.idsByLastName.getIdsWithPrefix(prefix).collect(this.people::get, Lists.mutable.empty());
+    }
+
+    /**
+     * Returns the distinct pet names starting with {@code prefix}, in order, e.g. to complete a name as it is typed.
+     */
+    public MutableList<String> getPetNamesWithPrefix(String prefix)
+    {
+        return this.rowsByPetName.getKeysWithPrefix(prefix);
+    }
+
+    /**
+     * Returns the {@link PetStore} rows of the pets whose name starts with {@code prefix}, ordered by name and then
+     * row.
+     */
+    public MutableIntList getPetRowsWithNamePrefix(String prefix)
+    {
+        return this.rowsByPetName.getIdsWithPrefix(prefix);
+    }
+
+    /**
+     * Returns the columnar store of the pets of all registered people.
+     */
+    public PetStore getPetStore()
+    {
+        return this.pets;
+    }
+
+    /**
+     * Returns the ages of the pets of {@code petType}, kept current as pets are added.
+     */
+    public AgeHistogram getAgeHistogram(PetType petType)
+    {
+        return this.ageHistograms[petType.ordinal()];
+    }
+
+    /**
+     * Returns an immutable copy of the index of the people owning each pet type, which is maintained as pets are added.
+     */
+    public ImmutableSetMultimap<PetType, Person> getPeopleByPetType()
+    {
+        return this.petOwnersByType.toImmutable();
+    }
+
+    /**
+     * Returns an unmodifiable view of the people with at least one pet of {@code petType}.
+     */
+    public SetIterable<Person> getPetOwners(PetType petType)
+    {
+        return this.petOwnersByType.get(petType).asUnmodifiable();
+    }
+
+    /**
+     * Returns the number of people with at least one pet of {@code petType}.
+     */
+    public int countPeopleWith(PetType petType)
+    {
+        long[] with = this.peopleByPetType[petType.ordinal()];
+        int count = 0;
+        for (long word : with)
+        {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of people with a pet of type {@code with} and no pet of type {@code without}.
+     */
+    public int countPeopleWithButNot(PetType with, PetType without)
+    {
+        long[] included = this.peopleByPetType[with.ordinal()];
+        long[] excluded = this.peopleByPetType[without.ordinal()];
+        int count = 0;
+        for (int i = 0; i < included.length; i++)
+        {
+            count += Long.bitCount(included[i] & ~excluded[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the people with at least one pet of {@code petType}, in id order.
+     */
+    public MutableList<Person> getPeopleWith(PetType petType)
+    {
+        long[] with = this.peopleByPetType[petType.ordinal()];
+        MutableList<Person> result = Lists.mutable.empty();
+        for (int i = 0; i < with.length; i++)
+        {
+            this.addPeople(i, with[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the people with a pet of type {@code with} and no pet of type {@code without}, in id order.
+     */
+    public MutableList<Person> getPeopleWithButNot(PetType with, PetType without)
+    {
+        long[] included = this.peopleByPetType[with.ordinal()];
+        long[] excluded = this.peopleByPetType[without.ordinal()];
+        MutableList<Person> result = Lists.mutable.empty();
+        for (int i = 0; i < included.length; i++)
+        {
+            this.addPeople(i, included[i] & ~excluded[i], result);
+        }
+        return result;
+    }
+
+    private void addPeople(int wordIndex, long word, MutableList<Person> target)
+    {
+        long remaining = word;
+        while (remaining != 0L)
+        {
+            target.add(this.people.get((wordIndex << 6) + Long.numberOfTrailingZeros(remaining)));
+            remaining &= remaining - 1L;
+        }
+    }
+}
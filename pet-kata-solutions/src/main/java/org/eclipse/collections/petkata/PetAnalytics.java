@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.primitive.IntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.api.map.primitive.ObjectIntMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.katasupport.CollectionOperationEvent;
+import org.eclipse.collections.katasupport.EnumBag;
+
+/**
+ * The pet kata's domain queries run by fork/join over a list of people.
+ * <p>
+ * Each query splits the index range of the list in halves until a range holds at most {@code threshold} people,
+ * accumulates every range into its own accumulator, typically an {@link EnumBag} or a primitive map, and merges
+ * each left half with its right half. Merging always in that order makes the results independent of the
+ * parallelism: lists keep the order of the people, and a pool of one thread computes exactly what the serial
+ * kata solutions do.
+ * <p>
+ * The people must not change while a query runs.
+ */
+public class PetAnalytics
+{
+    private final ListIterable<Person> people;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public PetAnalytics(ListIterable<Person> people, ForkJoinPool pool, int threshold)
+    {
+        if (threshold < 1)
+        {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.people = people;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the number of pets of each type, as {@code countByEach(Person::getPetTypes)}.
+     */
+    public Bag<PetType> countPetTypes()
+    {
+        CollectionOperationEvent event = CollectionOperationEvent.begin("PetAnalytics.countPetTypes");
+        Bag<PetType> petTypes = this.reduce(
+                () -> EnumBag.empty(PetType.class),
+                (bag, person) -> bag.merge(person.getPetTypes()),
+                EnumBag::merge);
+        event.end(petTypes.sizeDistinct());
+        return petTypes;
+    }
+
+    /**
+     * Returns the number of people owning at least one pet of each type.
+     */
+    public Bag<PetType> countPeopleByPetType()
+    {
+        return this.reduce(
+                () -> EnumBag.empty(PetType.class),
+                (bag, person) -> PetAnalytics.addPetTypes(bag, person.getPetTypeMask()),
+                EnumBag::merge);
+    }
+
+    /**
+     * Returns the {@code count} most common pet types, as {@code countByEach(Person::getPetTypes).topOccurrences}.
+     */
+    public ListIterable<ObjectIntPair<PetType>> topPetTypes(int count)
+    {
+        return this.countPetTypes().topOccurrences(count);
+    }
+
+    /**
+     * Returns the people grouped by last name, in list order, as {@code groupBy(Person::getLastName)}.
+     */
+    public ListMultimap<String, Person> getPeopleByLastName()
+    {
+        CollectionOperationEvent event = CollectionOperationEvent.begin("PetAnalytics.getPeopleByLastName");
+        ListMultimap<String, Person> peopleByLastName = this.reduce(
+                Multimaps.mutable.list::empty,
+                (multimap, person) -> multimap.put(person.getLastName(), person),
+                PetAnalytics::merge);
+        event.end(peopleByLastName.sizeDistinct());
+        return peopleByLastName;
+    }
+
+    /**
+     * Returns the number of people with each last name, as {@code aggregateBy(Person::getLastName, ...)} counting.
+     */
+    public ObjectIntMap<String> countPeopleByLastName()
+    {
+        CollectionOperationEvent event = CollectionOperationEvent.begin("PetAnalytics.countPeopleByLastName");
+        ObjectIntMap<String> counts = this.reduce(
+                ObjectIntMaps.mutable::empty,
+                (accumulator, person) -> accumulator.addToValue(person.getLastName(), 1),
+                PetAnalytics::merge);
+        event.end(counts.size());
+        return counts;
+    }
+
+    /**
+     * Returns the number of pets of each age.
+     */
+    public IntIntMap getPetAgeCounts()
+    {
+        return this.reduce(
+                IntIntMaps.mutable::empty,
+                PetAnalytics::addPetAges,
+                PetAnalytics::merge);
+    }
+
+    /**
+     * Returns the median pet age, computed from the number of pets of each age so that no list of ages is built.
+     *
+     * @throws ArithmeticException if there are no pets
+     */
+    public double getMedianPetAge()
+    {
+        return new AgeHistogram(this.reduce(
+                IntIntMaps.mutable::empty,
+                PetAnalytics::addPetAges,
+                PetAnalytics::merge)).getMedian();
+    }
+
+    public IntSummary getPetAgeSummary()
+    {
+        return this.reduce(
+                IntSummary::new,
+                (summary, person) -> person.getPetAges().forEach(summary),
+                IntSummary::merge);
+    }
+
+    private <R> R reduce(
+            Function0<R> newAccumulator,
+            Procedure2<R, Person> accumulate,
+            Function2<R, R, R> merge)
+    {
+        return this.pool.invoke(new Split<>(this, 0, this.people.size(), newAccumulator, accumulate, merge));
+    }
+
+    private static void addPetTypes(EnumBag<PetType> bag, byte mask)
+    {
+        for (PetType petType : PetType.values())
+        {
+            if ((mask & petType.bit()) != 0)
+            {
+                bag.add(petType);
+            }
+        }
+    }
+
+    private static void addPetAges(MutableIntIntMap counts, Person person)
+    {
+        person.getPetAges().forEach(age -> counts.addToValue(age, 1));
+    }
+
+    private static MutableListMultimap<String, Person> merge(
+            MutableListMultimap<String, Person> left,
+            MutableListMultimap<String, Person> right)
+    {
+        right.forEachKeyMultiValues(left::putAll);
+        return left;
+    }
+
+    private static MutableObjectIntMap<String> merge(
+            MutableObjectIntMap<String> left,
+            MutableObjectIntMap<String> right)
+    {
+        right.forEachKeyValue(left::addToValue);
+        return left;
+    }
+
+    private static MutableIntIntMap merge(MutableIntIntMap left, MutableIntIntMap right)
+    {
+        right.forEachKeyValue(left::addToValue);
+        return left;
+    }
+
+    private static final class Split<R> extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient PetAnalytics analytics;
+        private final int from;
+        private final int to;
+        private final transient Function0<R> newAccumulator;
+        private final transient Procedure2<R, Person> accumulate;
+        private final transient Function2<R, R, R> merge;
+
+        private Split(
+                PetAnalytics analytics,
+                int from,
+                int to,
+                Function0<R> newAccumulator,
+                Procedure2<R, Person> accumulate,
+                Function2<R, R, R> merge)
+        {
+            this.analytics = analytics;
+            this.from = from;
+            this.to = to;
+            this.newAccumulator = newAccumulator;
+            this.accumulate = accumulate;
+            this.merge = merge;
+        }
+
+        @Override
+        protected R compute()
+        {
+            if (this.to - this.from <= this.analytics.threshold)
+            {
+                R accumulator = this.newAccumulator.value();
+                ListIterable<Person> people = this.analytics.people;
+                for (int i = this.from; i < this.to; i++)
+                {
+                    this.accumulate.value(accumulator, people.get(i));
+                }
+                return accumulator;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Split<R> left = this.split(this.from, middle);
+            Split<R> right = this.split(middle, this.to);
+            left.fork();
+            R rightResult = right.compute();
+            return this.merge.value(left.join(), rightResult);
+        }
+
+        private Split<R> split(int from, int to)
+        {
+            return new Split<>(this.analytics, from, to, this.newAccumulator, this.accumulate, this.merge);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableByteList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.factory.primitive.ByteLists;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.katasupport.EnumBag;
+
+/**
+ * The pets of a {@link PersonRegistry} stored column by column: a {@code byte} column of type ordinals and
+ * {@code int} columns of ages, name ids and owner ids, with row {@code i} describing the {@code i}th pet added.
+ * Names are interned in a dictionary, so each distinct name is stored once and rows refer to it by id.
+ * <p>
+ * Domain-wide scans, such as the average age of all dogs, read only the columns they need, front to back, without
+ * touching a {@link Pet} or {@link Person}. {@link #getPet(int)} rebuilds a row as a {@link Pet} when one is needed.
+ * <p>
+ * The rows of each owner are chained in the order they were added, with the first and last row of each owner kept,
+ * so a registered {@link Person} reads its pets from here rather than keeping its own copy. Stores are not
+ * thread-safe.
+ */
+public class PetStore
+{
+    private static final int NONE = -1;
+    private static final PetType[] PET_TYPES = PetType.values();
+
+    private final MutableByteList types = ByteLists.mutable.empty();
+    private final MutableIntList ages = IntLists.mutable.empty();
+    private final MutableIntList nameIds = IntLists.mutable.empty();
+    private final MutableIntList ownerIds = IntLists.mutable.empty();
+    private final MutableIntList nextRowOfOwner = IntLists.mutable.empty();
+    private final MutableIntIntMap firstRowByOwner = IntIntMaps.mutable.empty();
+    private final MutableIntIntMap lastRowByOwner = IntIntMaps.mutable.empty();
+    private final MutableList<String> names = Lists.mutable.empty();
+    private final MutableObjectIntMap<String> idsByName = ObjectIntMaps.mutable.empty();
+
+    /**
+     * Appends a row for {@code pet} owned by the person with id {@code ownerId} and returns the row index.
+     */
+    public int add(Pet pet, int ownerId)
+    {
+        int row = this.types.size();
+        this.types.add((byte) pet.getType().ordinal());
+        this.ages.add(pet.getAge());
+        this.nameIds.add(this.nameId(pet.getName()));
+        this.ownerIds.add(ownerId);
+        this.nextRowOfOwner.add(NONE);
+        int last = this.lastRowByOwner.getIfAbsent(ownerId, NONE);
+        if (last == NONE)
+        {
+            this.firstRowByOwner.put(ownerId, row);
+        }
+        else
+        {
+            this.nextRowOfOwner.set(last, row);
+        }
+        this.lastRowByOwner.put(ownerId, row);
+        return row;
+    }
+
+    private int nameId(String name)
+    {
+        int nameId = this.idsByName.getIfAbsent(name, -1);
+        if (nameId == -1)
+        {
+            nameId = this.names.size();
+            this.idsByName.put(name, nameId);
+            this.names.add(name);
+        }
+        return nameId;
+    }
+
+    public int size()
+    {
+        return this.types.size();
+    }
+
+    public PetType getType(int row)
+    {
+        return PET_TYPES[this.types.get(row)];
+    }
+
+    public int getAge(int row)
+    {
+        return this.ages.get(row);
+    }
+
+    public String getName(int row)
+    {
+        return this.names.get(this.nameIds.get(row));
+    }
+
+    public int getNameId(int row)
+    {
+        return this.nameIds.get(row);
+    }
+
+    public int getOwnerId(int row)
+    {
+        return this.ownerIds.get(row);
+    }
+
+    public Pet getPet(int row)
+    {
+        return new Pet(this.getType(row), this.getName(row), this.getAge(row));
+    }
+
+    /**
+     * Returns the pets owned by the person with id {@code ownerId}, rebuilt from their rows in the order they were
+     * added.
+     */
+    public MutableList<Pet> getPetsOf(int ownerId)
+    {
+        MutableList<Pet> pets = Lists.mutable.empty();
+        for (int row = this.firstRowByOwner.getIfAbsent(ownerId, NONE); row != NONE; row = this.nextRowOfOwner.get(row))
+        {
+            pets.add(this.getPet(row));
+        }
+        return pets;
+    }
+
+    /**
+     * Returns the number of pets of each type owned by the person with id {@code ownerId}.
+     */
+    public EnumBag<PetType> getPetTypesOf(int ownerId)
+    {
+        EnumBag<PetType> petTypes = EnumBag.empty(PetType.class);
+        for (int row = this.firstRowByOwner.getIfAbsent(ownerId, NONE); row != NONE; row = this.nextRowOfOwner.get(row))
+        {
+            petTypes.add(PET_TYPES[this.types.get(row)]);
+        }
+        return petTypes;
+    }
+
+    /**
+     * Returns the ages of the pets owned by the person with id {@code ownerId}, in the order they were added.
+     */
+    public IntList getPetAgesOf(int ownerId)
+    {
+        MutableIntList ages = IntLists.mutable.empty();
+        for (int row = this.firstRowByOwner.getIfAbsent(ownerId, NONE); row != NONE; row = this.nextRowOfOwner.get(row))
+        {
+            ages.add(this.ages.get(row));
+        }
+        return ages;
+    }
+
+    /**
+     * Returns the distinct pet names, indexed by name id.
+     */
+    public ListIterable<String> getNames()
+    {
+        return this.names.asUnmodifiable();
+    }
+
+    public int countOf(PetType petType)
+    {
+        byte ordinal = (byte) petType.ordinal();
+        int count = 0;
+        for (int row = 0; row < this.types.size(); row++)
+        {
+            if (this.types.get(row) == ordinal)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of pets of each type, in one pass over the type column.
+     */
+    public EnumBag<PetType> getPetTypes()
+    {
+        EnumBag<PetType> petTypes = EnumBag.empty(PetType.class);
+        for (int row = 0; row < this.types.size(); row++)
+        {
+            petTypes.add(PET_TYPES[this.types.get(row)]);
+        }
+        return petTypes;
+    }
+
+    /**
+     * Returns the ages of the pets of {@code petType}, in row order.
+     */
+    public IntList getAgesOf(PetType petType)
+    {
+        byte ordinal = (byte) petType.ordinal();
+        MutableIntList result = IntLists.mutable.empty();
+        for (int row = 0; row < this.types.size(); row++)
+        {
+            if (this.types.get(row) == ordinal)
+            {
+                result.add(this.ages.get(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the average age of the pets of {@code petType}.
+     *
+     * @throws ArithmeticException if there are no pets of {@code petType}
+     */
+    public double averageAgeOf(PetType petType)
+    {
+        byte ordinal = (byte) petType.ordinal();
+        long sum = 0L;
+        int count = 0;
+        for (int row = 0; row < this.types.size(); row++)
+        {
+            if (this.types.get(row) == ordinal)
+            {
+                sum += this.ages.get(row);
+                count++;
+            }
+        }
+        if (count == 0)
+        {
+            throw new ArithmeticException("No pets of type " + petType);
+        }
+        return (double) sum / count;
+    }
+}
@@ -12,5 +12,13 @@ package org.eclipse.collections.petkata;
 
 public enum PetType
 {
-    CAT, DOG, HAMSTER, TURTLE, BIRD, SNAKE
+    CAT, DOG, HAMSTER, TURTLE, BIRD, SNAKE;
+
+    /**
+     * Returns the bit of this type in a {@link Person}'s pet-type mask.
+     */
+    byte bit()
+    {
+        return (byte) (1 << this.ordinal());
+    }
 }
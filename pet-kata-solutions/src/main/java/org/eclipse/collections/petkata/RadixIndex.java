@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+
+/**
+ * A radix tree from names to {@code int} ids, such as person ids or {@link PetStore} rows. Each edge holds the
+ * longest run of characters its keys share, so the tree has at most one node per key plus one per branch, and a
+ * prefix query walks only the characters of the prefix before visiting the keys it matches. Children are kept
+ * sorted by their first character, so keys are visited in {@link String#compareTo(String)} order, and the ids of a
+ * key in the order they were added.
+ * <p>
+ * Keys are added one at a time and never removed. Indexes are not thread-safe.
+ */
+public class RadixIndex
+{
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private int size;
+
+    public void add(String key, int id)
+    {
+        Node node = this.root;
+        int offset = 0;
+        while (offset < key.length())
+        {
+            int index = node.indexOf(key.charAt(offset));
+            if (index < 0)
+            {
+                Node leaf = new Node(key.substring(offset));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                offset = key.length();
+            }
+            else
+            {
+                Node child = node.children[index];
+                int common = RadixIndex.commonPrefixLength(child.label, key, offset);
+                if (common < child.label.length())
+                {
+                    Node branch = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    branch.insertChild(0, child);
+                    node.children[index] = branch;
+                    child = branch;
+                }
+                node = child;
+                offset += common;
+            }
+        }
+        if (node.ids == null)
+        {
+            node.ids = IntLists.mutable.empty();
+            this.size++;
+        }
+        node.ids.add(id);
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the ids added with {@code key}, or an empty list.
+     */
+    public IntList getIds(String key)
+    {
+        Node node = this.root;
+        int offset = 0;
+        while (offset < key.length())
+        {
+            int index = node.indexOf(key.charAt(offset));
+            if (index < 0)
+            {
+                return IntLists.immutable.empty();
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, offset))
+            {
+                return IntLists.immutable.empty();
+            }
+            offset += node.label.length();
+        }
+        return node.ids == null ? IntLists.immutable.empty() : node.ids.asUnmodifiable();
+    }
+
+    /**
+     * Returns the ids of every key starting with {@code prefix}, in key order.
+     */
+    public MutableIntList getIdsWithPrefix(String prefix)
+    {
+        MutableIntList result = IntLists.mutable.empty();
+        this.forEachWithPrefix(prefix, (key, ids) -> result.addAll(ids));
+        return result;
+    }
+
+    /**
+     * Returns the keys starting with {@code prefix}, in order.
+     */
+    public MutableList<String> getKeysWithPrefix(String prefix)
+    {
+        MutableList<String> result = Lists.mutable.empty();
+        this.forEachWithPrefix(prefix, (key, ids) -> result.add(key));
+        return result;
+    }
+
+    /**
+     * Visits each key starting with {@code prefix}, in order, with its ids.
+     */
+    public void forEachWithPrefix(String prefix, Procedure2<? super String, ? super IntList> procedure)
+    {
+        Node node = this.root;
+        int offset = 0;
+        StringBuilder key = new StringBuilder();
+        while (offset < prefix.length())
+        {
+            int index = node.indexOf(prefix.charAt(offset));
+            if (index < 0)
+            {
+                return;
+            }
+            node = node.children[index];
+            int common = RadixIndex.commonPrefixLength(node.label, prefix, offset);
+            if (common < node.label.length() && offset + common < prefix.length())
+            {
+                return;
+            }
+            key.append(node.label);
+            offset += node.label.length();
+        }
+        RadixIndex.forEach(node, key, procedure);
+    }
+
+    private static void forEach(Node node, StringBuilder key, Procedure2<? super String, ? super IntList> procedure)
+    {
+        if (node.ids != null)
+        {
+            procedure.value(key.toString(), node.ids.asUnmodifiable());
+        }
+        for (int i = 0; i < node.childCount; i++)
+        {
+            Node child = node.children[i];
+            int length = key.length();
+            key.append(child.label);
+            RadixIndex.forEach(child, key, procedure);
+            key.setLength(length);
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset)
+    {
+        int max = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < max && label.charAt(common) == key.charAt(offset + common))
+        {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node
+    {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private MutableIntList ids;
+
+        private Node(String label)
+        {
+            this.label = label;
+        }
+
+        /**
+         * Returns the index of the child starting with {@code first}, or {@code -(insertion point) - 1}.
+         */
+        private int indexOf(char first)
+        {
+            int low = 0;
+            int high = this.childCount - 1;
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+                char label = this.children[middle].label.charAt(0);
+                if (label < first)
+                {
+                    low = middle + 1;
+                }
+                else if (label > first)
+                {
+                    high = middle - 1;
+                }
+                else
+                {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        private void insertChild(int index, Node child)
+        {
+            if (this.childCount == this.children.length)
+            {
+                this.children = Arrays.copyOf(this.children, Math.max(2, this.childCount * 2));
+            }
+            System.arraycopy(this.children, index, this.children, index + 1, this.childCount - index);
+            this.children[index] = child;
+            this.childCount++;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+
+/**
+ * The counters of a Space-Saving summary, without the items they count. Each of up to {@code capacity} slots holds a
+ * count and the error it may overstate, and the slots are ordered in a min-heap by count so that the least counted
+ * slot, which a new item takes over when the summary is full, is found in constant time and counts are updated in
+ * logarithmic time. Subclasses map items to slots.
+ */
+abstract class SpaceSavingCounters
+{
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+    private long total;
+    private long missingError;
+
+    SpaceSavingCounters(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+    }
+
+    static int capacityForMaxError(double maxError)
+    {
+        if (!(maxError > 0.0 && maxError <= 1.0))
+        {
+            throw new IllegalArgumentException("Maximum error must be in (0, 1]: " + maxError);
+        }
+        return (int) Math.ceil(1.0 / maxError);
+    }
+
+    static void checkOccurrences(long occurrences)
+    {
+        if (occurrences < 0L)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+    }
+
+    public int getCapacity()
+    {
+        return this.counts.length;
+    }
+
+    /**
+     * Returns the number of items being counted, at most the capacity.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the total number of occurrences added, which is the length of the stream summarized.
+     */
+    public long getTotal()
+    {
+        return this.total;
+    }
+
+    /**
+     * Returns the most any count may overstate its item's occurrences, which is also the most occurrences an item
+     * without a count may have had. It never exceeds {@code getTotal() / getCapacity()} for a summary that has not
+     * been merged; a merge carries the bounds of both summaries, even when the result is not full.
+     */
+    public long getMaxError()
+    {
+        return this.isFull() ? Math.max(this.counts[this.heap[0]], this.missingError) : this.missingError;
+    }
+
+    final boolean isFull()
+    {
+        return this.size == this.counts.length;
+    }
+
+    final long count(int slot)
+    {
+        return this.counts[slot];
+    }
+
+    final long error(int slot)
+    {
+        return this.errors[slot];
+    }
+
+    final void addToTotal(long occurrences)
+    {
+        this.total += occurrences;
+    }
+
+    final void increment(int slot, long occurrences)
+    {
+        this.counts[slot] += occurrences;
+        this.siftDown(this.positions[slot]);
+    }
+
+    /**
+     * Takes a new slot for an item first seen with {@code occurrences}. After a merge the item may already have had
+     * occurrences the summary did not count, so they are added to both its count and its error.
+     */
+    final int newItemSlot(long occurrences)
+    {
+        return this.newSlot(this.missingError + occurrences, this.missingError);
+    }
+
+    /**
+     * Takes a new slot with {@code count} occurrences, of which {@code error} may be overstated. The summary must not
+     * be full.
+     */
+    final int newSlot(long count, long error)
+    {
+        int slot = this.size++;
+        this.counts[slot] = count;
+        this.errors[slot] = error;
+        this.heap[slot] = slot;
+        this.positions[slot] = slot;
+        this.siftUp(slot);
+        return slot;
+    }
+
+    /**
+     * Hands the least counted slot to a new item with {@code occurrences}, keeping its old count as the error, and
+     * returns the slot. The summary must be full.
+     */
+    final int replaceMinimum(long occurrences)
+    {
+        int slot = this.heap[0];
+        this.errors[slot] = this.counts[slot];
+        this.counts[slot] += occurrences;
+        this.siftDown(0);
+        return slot;
+    }
+
+    final int minimumSlot()
+    {
+        return this.heap[0];
+    }
+
+    /**
+     * Empties every slot, after which an item without a slot may have had up to {@code newMissingError} occurrences.
+     */
+    final void clearSlots(long newMissingError)
+    {
+        this.size = 0;
+        this.missingError = newMissingError;
+    }
+
+    /**
+     * Returns every slot in descending order of count, with ties in slot order.
+     */
+    final MutableIntList slotsByCount()
+    {
+        MutableIntList slots = IntLists.mutable.withInitialCapacity(this.size);
+        for (int slot = 0; slot < this.size; slot++)
+        {
+            slots.add(slot);
+        }
+        return slots.sortThis((left, right) ->
+        {
+            int byCount = Long.compare(this.counts[right], this.counts[left]);
+            return byCount == 0 ? Integer.compare(left, right) : byCount;
+        });
+    }
+
+    /**
+     * Returns the slots of the {@code count} highest counts, and of any ties with the lowest of them, in descending
+     * order of count, as {@link org.eclipse.collections.api.bag.Bag#topOccurrences(int)} does.
+     */
+    final IntList topSlots(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Cannot use a value of n < 0");
+        }
+        MutableIntList sorted = this.slotsByCount();
+        if (count >= sorted.size())
+        {
+            return sorted;
+        }
+        if (count == 0)
+        {
+            return IntLists.immutable.empty();
+        }
+        long lowest = this.counts[sorted.get(count - 1)];
+        int end = count;
+        while (end < sorted.size() && this.counts[sorted.get(end)] == lowest)
+        {
+            end++;
+        }
+        return SpaceSavingCounters.head(sorted, end);
+    }
+
+    /**
+     * Returns the first {@code count} of the slots {@link #slotsByCount() by count}, or all of them if fewer.
+     */
+    final IntList highestSlots(int count)
+    {
+        return SpaceSavingCounters.head(this.slotsByCount(), count);
+    }
+
+    private static IntList head(IntList slots, int count)
+    {
+        if (count >= slots.size())
+        {
+            return slots;
+        }
+        MutableIntList head = IntLists.mutable.withInitialCapacity(count);
+        for (int i = 0; i < count; i++)
+        {
+            head.add(slots.get(i));
+        }
+        return head;
+    }
+
+    private void siftUp(int position)
+    {
+        int current = position;
+        while (current > 0)
+        {
+            int parent = (current - 1) >>> 1;
+            if (this.counts[this.heap[parent]] <= this.counts[this.heap[current]])
+            {
+                return;
+            }
+            this.swap(parent, current);
+            current = parent;
+        }
+    }
+
+    private void siftDown(int position)
+    {
+        int current = position;
+        while (true)
+        {
+            int smallest = current;
+            int left = 2 * current + 1;
+            int right = left + 1;
+            if (left < this.size && this.counts[this.heap[left]] < this.counts[this.heap[smallest]])
+            {
+                smallest = left;
+            }
+            if (right < this.size && this.counts[this.heap[right]] < this.counts[this.heap[smallest]])
+            {
+                smallest = right;
+            }
+            if (smallest == current)
+            {
+                return;
+            }
+            this.swap(current, smallest);
+            current = smallest;
+        }
+    }
+
+    private void swap(int i, int j)
+    {
+        int slot = this.heap[i];
+        this.heap[i] = this.heap[j];
+        this.heap[j] = slot;
+        this.positions[this.heap[i]] = i;
+        this.positions[this.heap[j]] = j;
+    }
+}
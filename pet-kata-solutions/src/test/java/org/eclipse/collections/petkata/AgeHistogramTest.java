@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class AgeHistogramTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void registryKeepsAHistogramPerType()
+    {
+        AgeHistogram cats = this.registry.getAgeHistogram(PetType.CAT);
+        Assertions.assertEquals(2L, cats.getCount());
+        Assertions.assertEquals(
+                IntIntMaps.mutable.empty().withKeyValue(2, 1).withKeyValue(3, 1),
+                cats.getCountsByAge());
+        Assertions.assertEquals(2.5, cats.getMedian(), 0.0);
+        Assertions.assertEquals(2, cats.getMode());
+
+        AgeHistogram hamsters = this.registry.getAgeHistogram(PetType.HAMSTER);
+        Assertions.assertEquals(2, hamsters.getCount(1));
+        Assertions.assertEquals(1.0, hamsters.getMean(), 0.0);
+
+        this.getPersonNamed("John Doe").addPet(PetType.CAT, "Felix", 3).addPet(PetType.CAT, "Tom", 3);
+        Assertions.assertEquals(4L, cats.getCount());
+        Assertions.assertEquals(3, cats.getMode());
+        Assertions.assertEquals(3.0, cats.getMedian(), 0.0);
+        Assertions.assertEquals(2.75, cats.getMean(), 0.0);
+
+        Assertions.assertThrows(
+                ArithmeticException.class,
+                () -> new PersonRegistry().getAgeHistogram(PetType.DOG).getMedian());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cats.getPercentile(-1.0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void statisticsMatchTheAges()
+    {
+        SplittableRandom random = new SplittableRandom(11L);
+        PersonRegistry registry = new PersonRegistry();
+        MutableIntList dogAges = IntLists.mutable.empty();
+        for (int i = 0; i < 2_000; i++)
+        {
+            Person person = registry.register(new Person("First" + i, "Last"));
+            int age = 1 + random.nextInt(18);
+            person.addPet(i % 3 == 0 ? PetType.DOG : PetType.BIRD, "Pet" + i, age);
+            if (i % 3 == 0)
+            {
+                dogAges.add(age);
+            }
+        }
+
+        AgeHistogram dogs = registry.getAgeHistogram(PetType.DOG);
+        Assertions.assertEquals(dogAges.size(), dogs.getCount());
+        Assertions.assertEquals(dogAges.average(), dogs.getMean(), 1.0e-9);
+        Assertions.assertEquals(dogAges.median(), dogs.getMedian(), 0.0);
+        for (double percentile : new double[]{0.0, 5.0, 37.5, 90.0, 100.0})
+        {
+            Assertions.assertEquals(
+                    IntStatistics.percentile(dogAges, percentile),
+                    dogs.getPercentile(percentile),
+                    1.0e-9);
+        }
+        int mode = dogs.getMode();
+        Assertions.assertEquals(
+                dogAges.toBag().topOccurrences(1).getFirst().getTwo(),
+                dogAges.count(age -> age == mode));
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.bag.primitive.MutableIntBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.tuple.primitive.IntLongPair;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.api.tuple.primitive.ObjectLongPair;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntBags;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.list.primitive.IntInterval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class HeavyHittersTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void topThreePets()
+    {
+        HeavyHitters<PetType> favorites = HeavyHitters.withCapacity(PetType.values().length);
+        this.people.forEach(person -> person.getPets().forEach(pet -> favorites.add(pet.getType())));
+        MutableBag<PetType> exact = this.people.countByEach(Person::getPetTypes);
+
+        Assertions.assertEquals(
+                exact.topOccurrences(3).collect(ObjectIntPair::getOne).toBag(),
+                favorites.topOccurrences(3).collect(ObjectLongPair::getOne).toBag());
+        Assertions.assertEquals(2L, favorites.occurrencesOf(PetType.HAMSTER));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mergedSummariesKeepTheCommonAges()
+    {
+        // every age from 1 to 1000 once, then age 7 a thousand more times and age 3 five hundred more times
+        MutableIntList ages = IntInterval.oneTo(1_000).toList();
+        IntInterval.oneTo(1_000).each(i -> ages.add(7));
+        IntInterval.oneTo(500).each(i -> ages.add(3));
+        IntHeavyHitters left = IntHeavyHitters.withCapacity(20);
+        IntHeavyHitters right = IntHeavyHitters.withCapacity(20);
+        for (int i = 0; i < ages.size(); i++)
+        {
+            (i % 2 == 0 ? left : right).add(ages.get(i));
+        }
+        left.merge(right);
+
+        Assertions.assertEquals(ages.size(), left.getTotal());
+        Assertions.assertEquals(
+                IntLists.mutable.with(7, 3),
+                left.topOccurrences(2).collectInt(IntLongPair::getOne, IntLists.mutable.empty()));
+        Assertions.assertTrue(left.guaranteedOccurrencesOf(7) <= 1_001L);
+        Assertions.assertTrue(left.occurrencesOf(7) >= 1_001L);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void boundedErrorOnSkewedStream()
+    {
+        IntList stream = HeavyHittersTest.skewedStream(200_000, 5_000, 1L);
+        MutableIntBag exact = IntBags.mutable.withAll(stream);
+        IntHeavyHitters summary = IntHeavyHitters.withMaxError(0.005).addAll(stream);
+
+        Assertions.assertEquals(200, summary.getCapacity());
+        Assertions.assertEquals(200, summary.size());
+        Assertions.assertTrue(summary.getMaxError() <= summary.getTotal() / summary.getCapacity());
+        HeavyHittersTest.assertBounds(exact, summary);
+        Assertions.assertEquals(
+                exact.topOccurrences(5).collectInt(pair -> pair.getOne(), IntLists.mutable.empty()),
+                summary.topOccurrences(5).collectInt(IntLongPair::getOne, IntLists.mutable.empty()));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mergesAcrossThreads() throws Exception
+    {
+        IntList stream = HeavyHittersTest.skewedStream(400_000, 20_000, 2L);
+        MutableIntBag exact = IntBags.mutable.withAll(stream);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            MutableList<CompletableFuture<IntHeavyHitters>> partitions = Lists.mutable.empty();
+            for (int partition = 0; partition < 8; partition++)
+            {
+                int from = partition * 50_000;
+                partitions.add(CompletableFuture.supplyAsync(
+                        () ->
+                        {
+                            IntHeavyHitters summary = IntHeavyHitters.withCapacity(300);
+                            for (int i = from; i < from + 50_000; i++)
+                            {
+                                summary.add(stream.get(i));
+                            }
+                            return summary;
+                        },
+                        executor));
+            }
+            IntHeavyHitters merged = partitions.injectInto(
+                    IntHeavyHitters.withCapacity(300),
+                    (summary, partition) -> summary.merge(partition.join()));
+
+            Assertions.assertEquals(400_000L, merged.getTotal());
+            Assertions.assertEquals(300, merged.size());
+            HeavyHittersTest.assertBounds(exact, merged);
+            Assertions.assertEquals(
+                    exact.topOccurrences(3).collectInt(pair -> pair.getOne(), IntLists.mutable.empty()),
+                    merged.topOccurrences(3).collectInt(IntLongPair::getOne, IntLists.mutable.empty()));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void objectMergeAndValidation()
+    {
+        HeavyHitters<String> left = HeavyHitters.<String>withCapacity(2).addAll(Lists.mutable.with("a", "a", "b"));
+        HeavyHitters<String> right = HeavyHitters.<String>withCapacity(2).addAll(Lists.mutable.with("a", "c", "c"));
+        left.merge(right);
+
+        Assertions.assertEquals(6L, left.getTotal());
+        Assertions.assertEquals(3L, left.occurrencesOf("a"));
+        Assertions.assertEquals(0L, left.errorOf("a"));
+        // "c" is missing from the full left summary, so it may have had up to its one occurrence of error there
+        Assertions.assertEquals(3L, left.occurrencesOf("c"));
+        Assertions.assertEquals(1L, left.errorOf("c"));
+        Assertions.assertEquals(0L, left.occurrencesOf("b"));
+        Assertions.assertEquals(
+                Lists.mutable.with("a", "c"),
+                left.topOccurrences(1).collect(ObjectLongPair::getOne));
+
+        HeavyHitters<String> full = HeavyHitters.<String>withCapacity(1).add("x").add("y");
+        Assertions.assertEquals(0L, full.occurrencesOf("x"));
+        Assertions.assertEquals(2L, full.occurrencesOf("y"));
+        Assertions.assertEquals(1L, full.guaranteedOccurrencesOf("y"));
+        Verify.assertEmpty(full.topOccurrences(0));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HeavyHitters.withCapacity(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntHeavyHitters.withMaxError(0.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> full.addOccurrences("z", -1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> full.topOccurrences(-1));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void mergeKeepsTheErrorBoundsWhenNotFull()
+    {
+        HeavyHitters<String> small =
+                HeavyHitters.<String>withCapacity(2).addAll(Lists.mutable.with("a", "a", "b", "c"));
+        IntHeavyHitters smallInts = IntHeavyHitters.withCapacity(2).addAll(IntLists.mutable.with(1, 1, 2, 3));
+        Assertions.assertEquals(2L, small.getMaxError());
+
+        HeavyHitters<String> large = HeavyHitters.<String>withCapacity(10).add("a").merge(small);
+        IntHeavyHitters largeInts = IntHeavyHitters.withCapacity(10).add(1).merge(smallInts);
+        Assertions.assertEquals(2, large.size());
+        Assertions.assertEquals(2L, large.getMaxError(), "an uncounted item may have had two occurrences in small");
+        Assertions.assertEquals(2L, largeInts.getMaxError());
+
+        // "b" was dropped by the small summary, so its count includes the occurrences it may have had there
+        large.add("b");
+        Assertions.assertEquals(3L, large.occurrencesOf("b"));
+        Assertions.assertEquals(2L, large.errorOf("b"));
+        Assertions.assertEquals(1L, large.guaranteedOccurrencesOf("b"));
+    }
+
+    private static void assertBounds(MutableIntBag exact, IntHeavyHitters summary)
+    {
+        exact.forEachWithOccurrences((item, occurrences) ->
+        {
+            if (occurrences > summary.getMaxError())
+            {
+                Assertions.assertTrue(summary.occurrencesOf(item) >= occurrences, "heavy items are counted");
+            }
+            if (summary.occurrencesOf(item) > 0L)
+            {
+                Assertions.assertTrue(summary.occurrencesOf(item) >= occurrences);
+                Assertions.assertTrue(summary.guaranteedOccurrencesOf(item) <= occurrences);
+            }
+        });
+    }
+
+    /**
+     * Returns {@code size} draws from {@code distinct} items where item {@code i} is drawn in proportion to
+     * {@code 1 / (i + 1)}.
+     */
+    private static IntList skewedStream(int size, int distinct, long seed)
+    {
+        double[] cumulative = new double[distinct];
+        double sum = 0.0;
+        for (int i = 0; i < distinct; i++)
+        {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        MutableIntList stream = IntLists.mutable.withInitialCapacity(size);
+        for (int i = 0; i < size; i++)
+        {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            stream.add(index < 0 ? -index - 1 : index);
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.list.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class IntStatisticsTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void medianOfPetAges()
+    {
+        MutableIntList petAges = this.people.flatCollectInt(Person::getPetAges, IntLists.mutable.empty());
+        IntList before = petAges.toImmutable();
+        Assertions.assertEquals(petAges.median(), IntStatistics.median(petAges), 0.0);
+        Assertions.assertEquals(2.0, IntStatistics.median(petAges), 0.0);
+        Assertions.assertArrayEquals(
+                new double[]{1.0, 2.0, 4.0},
+                IntStatistics.percentiles(petAges, 0.0, 50.0, 100.0),
+                0.0);
+        Assertions.assertEquals(before, petAges, "selection works on a copy");
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void selectionMatchesSorting()
+    {
+        SplittableRandom random = new SplittableRandom(41L);
+        for (int trial = 0; trial < 200; trial++)
+        {
+            int size = 1 + random.nextInt(300);
+            int bound = 1 + random.nextInt(trial % 2 == 0 ? 5 : 1_000);
+            int[] values = random.ints(size, 0, bound).toArray();
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            IntList list = IntLists.immutable.with(values);
+
+            for (double percentile : new double[]{0.0, 10.0, 25.0, 50.0, 90.0, 99.9, 100.0})
+            {
+                double rank = (size - 1) * percentile / 100.0;
+                int lower = (int) rank;
+                double expected = lower + 1 < size
+                        ? sorted[lower] + (rank - lower) * (sorted[lower + 1] - sorted[lower])
+                        : sorted[lower];
+                Assertions.assertEquals(expected, IntStatistics.percentile(list, percentile), 1.0e-9);
+            }
+            Assertions.assertEquals(list.median(), IntStatistics.median(list), 0.0);
+
+            int k = random.nextInt(size);
+            int[] scratch = values.clone();
+            Assertions.assertEquals(sorted[k], IntStatistics.select(scratch, size, k));
+            for (int i = 0; i < size; i++)
+            {
+                Assertions.assertTrue(i < k ? scratch[i] <= sorted[k] : scratch[i] >= sorted[k]);
+            }
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void invalidArguments()
+    {
+        Assertions.assertThrows(ArithmeticException.class, () -> IntStatistics.median(IntLists.mutable.empty()));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> IntStatistics.percentile(IntLists.mutable.with(1), 100.5));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> IntStatistics.percentile(IntLists.mutable.with(1), Double.NaN));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntStatistics.select(new int[3], 2, 2));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void summaryMatchesSummaryStatistics()
+    {
+        MutableIntList petAges = this.people.flatCollectInt(Person::getPetAges, IntLists.mutable.empty());
+        IntSummary summary = IntSummary.of(petAges);
+        var expected = petAges.summaryStatistics();
+
+        Assertions.assertEquals(expected.getCount(), summary.getCount());
+        Assertions.assertEquals(expected.getMin(), summary.getMin());
+        Assertions.assertEquals(expected.getMax(), summary.getMax());
+        Assertions.assertEquals(expected.getSum(), summary.getSum());
+        Assertions.assertEquals(expected.getAverage(), summary.getMean(), 1.0e-12);
+        double mean = expected.getAverage();
+        double variance = petAges.injectInto(0.0, (sum, age) -> sum + (age - mean) * (age - mean)) / petAges.size();
+        Assertions.assertEquals(variance, summary.getVariance(), 1.0e-12);
+        Assertions.assertEquals(Math.sqrt(variance), summary.getStandardDeviation(), 1.0e-12);
+
+        IntSummary empty = new IntSummary();
+        Assertions.assertEquals(Integer.MAX_VALUE, empty.getMin());
+        Assertions.assertEquals(0.0, empty.getVariance(), 0.0);
+        Assertions.assertEquals(0.0, empty.getSampleVariance(), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void summariesMergeAcrossThreads() throws Exception
+    {
+        SplittableRandom random = new SplittableRandom(7L);
+        MutableList<Integer> ages = Interval.oneTo(100_000).collect(i -> 1_000_000 + random.nextInt(20)).toList();
+        IntSummary whole = IntSummary.of(ages.collectInt(Integer::intValue));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            MutableList<CompletableFuture<IntSummary>> futures = Lists.mutable.empty();
+            for (RichIterable<Integer> chunk : ages.chunk(7_919))
+            {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> IntSummary.of(chunk.collectInt(Integer::intValue)),
+                        executor));
+            }
+            IntSummary merged = futures.injectInto(new IntSummary(), (sum, each) -> sum.merge(each.join()));
+
+            Assertions.assertEquals(whole.getCount(), merged.getCount());
+            Assertions.assertEquals(whole.getSum(), merged.getSum());
+            Assertions.assertEquals(whole.getMin(), merged.getMin());
+            Assertions.assertEquals(whole.getMax(), merged.getMax());
+            Assertions.assertEquals(whole.getMean(), merged.getMean(), 1.0e-6);
+            Assertions.assertEquals(whole.getVariance(), merged.getVariance(), 1.0e-6);
+            Assertions.assertEquals(whole.getVariance() * 100_000 / 99_999, merged.getSampleVariance(), 1.0e-6);
+            Assertions.assertEquals(33.25, whole.getVariance(), 0.5);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
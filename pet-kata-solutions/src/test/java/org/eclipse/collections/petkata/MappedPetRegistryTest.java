@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedPetRegistryTest extends PetDomainForKata
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void roundTripsThePeopleAndPets() throws IOException
+    {
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            this.people.forEach(registry::add);
+        }
+
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            Assertions.assertEquals(8, registry.getPersonCount());
+            Assertions.assertEquals(9, registry.getPetCount());
+            Assertions.assertEquals("Bob", registry.getFirstName(1));
+            Assertions.assertEquals("Smith", registry.getLastName(1));
+            Assertions.assertEquals(1, registry.getOwnerId(2));
+            Assertions.assertEquals("Spot", registry.getPetName(2));
+            Assertions.assertEquals(PetType.DOG, registry.getType(2));
+            Assertions.assertEquals(2, registry.getAge(2));
+
+            MutableList<Person> people = registry.toPeople();
+            Assertions.assertEquals(this.people.collect(Person::getLastName), people.collect(Person::getLastName));
+            Assertions.assertEquals(this.people.collect(Person::getFirstName), people.collect(Person::getFirstName));
+            Assertions.assertEquals(
+                    this.people.flatCollect(Person::getPets).collect(Pet::getName),
+                    people.flatCollect(Person::getPets).collect(Pet::getName));
+            Assertions.assertEquals(this.registry.getPetStore().getPetTypes(), registry.getPetTypes());
+            for (PetType petType : PetType.values())
+            {
+                Assertions.assertEquals(
+                        this.registry.getPetStore().averageAgeOf(petType),
+                        registry.averageAgeOf(petType),
+                        0.0);
+            }
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void appendsAfterReopeningAndGrows() throws IOException
+    {
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            registry.add(this.people.getFirst());
+        }
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            for (int i = 0; i < 10_000; i++)
+            {
+                int id = registry.addPerson("First" + i, "Smith");
+                registry.addPet(id, PetType.CAT, i % 2 == 0 ? "Tabby" : "Dolly", 1 + i % 10);
+            }
+            Assertions.assertEquals(10_001, registry.getPetCount());
+            Assertions.assertEquals("First9999", registry.getFirstName(10_000));
+            Assertions.assertEquals(10_001, registry.getPetTypes().occurrencesOf(PetType.CAT));
+            Assertions.assertThrows(
+                    IndexOutOfBoundsException.class,
+                    () -> registry.addPet(10_001, PetType.DOG, "x", 1));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> registry.addPet(0, PetType.DOG, "x", -1));
+        }
+        Assertions.assertTrue(
+                Files.size(this.directory.resolve(MappedPetRegistry.STRINGS)) < 10_000 * 15,
+                "names are interned");
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void uncommittedTailIsIgnored() throws IOException
+    {
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            registry.add(this.people.get(1));
+        }
+        Path pets = this.directory.resolve(MappedPetRegistry.PETS);
+        try (FileChannel channel = FileChannel.open(pets, StandardOpenOption.WRITE))
+        {
+            // a third pet record written without advancing the header, as if the writer crashed
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 9, 5, 0}), 16L + 2 * 12);
+        }
+        try (MappedPetRegistry registry = MappedPetRegistry.open(this.directory))
+        {
+            Assertions.assertEquals(2, registry.getPetCount());
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> registry.getAge(2));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsOtherFiles() throws IOException
+    {
+        Files.write(this.directory.resolve(MappedPetRegistry.PEOPLE), new byte[32]);
+        Assertions.assertThrows(IOException.class, () -> MappedPetRegistry.open(this.directory));
+        Assertions.assertFalse(Files.exists(this.directory.resolve(MappedPetRegistry.PETS)));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.multimap.set.ImmutableSetMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PersonRegistryTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void getPersonNamed()
+    {
+        Person bob = this.registry.getPersonNamed("Bob Smith");
+        Assertions.assertSame(this.people.get(1), bob);
+        Assertions.assertEquals(1, bob.getId());
+        Assertions.assertNull(this.registry.getPersonNamed("Bob Smit"));
+        Assertions.assertNull(this.registry.getPersonNamed("Bob Smiths"));
+        Assertions.assertNull(this.registry.getPersonNamed("BobS mith"));
+        Assertions.assertNull(this.registry.getPersonNamed(""));
+        Assertions.assertEquals(8, this.registry.size());
+        Assertions.assertEquals(this.people, this.registry.getPeople());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void namedComparesPiecesInPlace()
+    {
+        Person mary = this.people.getFirst();
+        Assertions.assertTrue(mary.named("Mary Smith"));
+        Assertions.assertFalse(mary.named("Mary  Smith"));
+        Assertions.assertFalse(mary.named("MarySmith"));
+        Assertions.assertFalse(mary.named("Mary_Smith"));
+        Assertions.assertFalse(mary.named("Mary Smithe"));
+        Assertions.assertFalse(mary.named("Marie Smith"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void fullNameHashMatchesStringHashCode()
+    {
+        this.people.forEach(person -> Assertions.assertEquals(
+                (person.getFirstName() + ' ' + person.getLastName()).hashCode(),
+                person.getFullNameHash()));
+        Assertions.assertEquals(" ".hashCode(), Person.fullNameHash("", ""));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void collidingHashesAndDuplicateNames()
+    {
+        // "Aa" and "BB" have the same hash code, so these full names collide
+        Person first = new Person("Aa", "Aa");
+        Person second = new Person("BB", "BB");
+        Person duplicate = new Person("Aa", "Aa");
+        Person last = new Person("BB", "Aa");
+        PersonRegistry registry = PersonRegistry.of(Lists.mutable.with(first, second, duplicate, last));
+
+        Assertions.assertEquals("Aa Aa".hashCode(), "BB BB".hashCode());
+        Assertions.assertSame(first, registry.getPersonNamed("Aa Aa"));
+        Assertions.assertSame(second, registry.getPersonNamed("BB BB"));
+        Assertions.assertSame(last, registry.getPersonNamed("BB Aa"));
+        Assertions.assertNull(registry.getPersonNamed("Aa BB"));
+        Assertions.assertSame(duplicate, registry.getPerson(2));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void bulkLookup()
+    {
+        PersonRegistry registry = new PersonRegistry();
+        Interval.oneTo(5_000).each(i -> registry.register(new Person("First" + i, "Last" + i % 97)));
+        MutableList<String> names = Interval.oneTo(5_000)
+                .collect(i -> "First" + i + " Last" + i % 97)
+                .toList()
+                .with("Nobody Here");
+
+        MutableList<Person> resolved = registry.getPeopleNamed(names);
+
+        Verify.assertSize(5_001, resolved);
+        Assertions.assertEquals(registry.getPeople(), resolved.take(5_000));
+        Assertions.assertNull(resolved.getLast());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void registerOnlyOnce()
+    {
+        Person mary = this.people.getFirst();
+        Assertions.assertThrows(IllegalStateException.class, () -> new PersonRegistry().register(mary));
+        Assertions.assertEquals(-1, new Person("Ann", "Other").getId());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void peopleByPetTypeIsAnImmutableCopy()
+    {
+        ImmutableSetMultimap<PetType, Person> petTypesToPeople = this.registry.getPeopleByPetType();
+        Assertions.assertEquals(
+                this.people.groupByEach(Person::getPetTypes, Multimaps.mutable.set.empty()),
+                petTypesToPeople);
+
+        this.getPersonNamed("John Doe").addPet(PetType.HAMSTER, "Squeak", 1);
+        Verify.assertIterableSize(1, petTypesToPeople.get(PetType.HAMSTER));
+        Verify.assertIterableSize(2, this.registry.getPeopleByPetType().get(PetType.HAMSTER));
+    }
+}
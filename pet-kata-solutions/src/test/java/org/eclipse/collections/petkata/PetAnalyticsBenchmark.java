@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times {@link PetAnalytics} on a generated fixture with 1, 2, 4, ... up to all available cores and prints the
+ * speed-up over one thread. It is tagged {@code BENCHMARK}, so the normal build skips it. The default fixture of
+ * 50 million people needs roughly 16 GB of heap:
+ * <pre>
+ * mvn test -pl pet-kata-solutions -Dsurefire.groups=BENCHMARK -Dtest=PetAnalyticsBenchmark -DargLine=-Xmx20g
+ * </pre>
+ * Add {@code -Dpet.benchmark.people=5000000} for a smaller fixture.
+ */
+public class PetAnalyticsBenchmark
+{
+    private static final String[] LAST_NAMES = {"Smith", "Snake", "Bird", "Turtle", "Hamster", "Doe", "Jones"};
+    private static final String[] PET_NAMES = {"Tabby", "Dolly", "Spot", "Spike", "Serpy", "Tweety", "Speedy"};
+    private static final PetType[] PET_TYPES = PetType.values();
+
+    static MutableList<Person> generatePeople(int count, long seed)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        MutableList<Person> people = Lists.mutable.withInitialCapacity(count);
+        for (int i = 0; i < count; i++)
+        {
+            Person person = new Person("First" + (i & 1023), LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            int pets = random.nextInt(4);
+            for (int j = 0; j < pets; j++)
+            {
+                person.addPet(
+                        PET_TYPES[random.nextInt(PET_TYPES.length)],
+                        PET_NAMES[random.nextInt(PET_NAMES.length)],
+                        1 + random.nextInt(15));
+            }
+            people.add(person);
+        }
+        return people;
+    }
+
+    @Test
+    @Tag("BENCHMARK")
+    public void scaling()
+    {
+        int count = Integer.getInteger("pet.benchmark.people", 50_000_000);
+        MutableList<Person> people = PetAnalyticsBenchmark.generatePeople(count, 42L);
+        int cores = Runtime.getRuntime().availableProcessors();
+        MutableIntList threadCounts = IntLists.mutable.empty();
+        for (int threads = 1; threads < cores; threads *= 2)
+        {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        double baseline = 0.0;
+        Object expected = null;
+        for (int i = 0; i < threadCounts.size(); i++)
+        {
+            int threads = threadCounts.get(i);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try
+            {
+                PetAnalytics analytics = new PetAnalytics(people, pool, 8_192);
+                Object result = Lists.immutable.with(
+                        analytics.countPetTypes(),
+                        analytics.topPetTypes(3),
+                        analytics.countPeopleByLastName(),
+                        analytics.getMedianPetAge());
+                double millis = PetAnalyticsBenchmark.bestOf(5, () ->
+                {
+                    analytics.countPetTypes();
+                    analytics.countPeopleByPetType();
+                    analytics.getPeopleByLastName();
+                    analytics.countPeopleByLastName();
+                    analytics.getPetAgeSummary();
+                    return analytics.getMedianPetAge();
+                });
+                if (threads == 1)
+                {
+                    baseline = millis;
+                    expected = result;
+                }
+                Assertions.assertEquals(expected, result);
+                System.out.printf("%,d people, %2d threads: %,10.1f ms, speed-up %.2f%n",
+                        count, threads, millis, baseline / millis);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static double bestOf(int runs, Supplier<?> queries)
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++)
+        {
+            long start = System.nanoTime();
+            Assertions.assertNotNull(queries.get());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1.0e6;
+    }
+}
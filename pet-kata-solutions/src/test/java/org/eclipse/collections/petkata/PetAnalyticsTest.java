@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PetAnalyticsTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void matchesKataSolutions()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            PetAnalytics analytics = new PetAnalytics(this.people, pool, 1);
+
+            Assertions.assertEquals(
+                    this.people.flatCollect(Person::getPets).countBy(Pet::getType),
+                    analytics.countPetTypes());
+            Assertions.assertEquals(this.people.countByEach(Person::getPetTypes), analytics.countPetTypes());
+            Assertions.assertEquals(
+                    this.people.countByEach(person -> person.getPetTypes().toSet()),
+                    analytics.countPeopleByPetType());
+            Assertions.assertEquals(this.people.groupBy(Person::getLastName), analytics.getPeopleByLastName());
+            Assertions.assertEquals(3, analytics.countPeopleByLastName().get("Smith"));
+            Assertions.assertEquals(2.0, analytics.getMedianPetAge(), 0.0);
+            Assertions.assertEquals(
+                    Lists.mutable.with(PetType.CAT, PetType.DOG, PetType.HAMSTER).toBag(),
+                    analytics.topPetTypes(3).collect(pair -> pair.getOne()).toBag());
+
+            var expected = this.people.flatCollectInt(Person::getPetAges, IntLists.mutable.empty()).summaryStatistics();
+            IntSummary summary = analytics.getPetAgeSummary();
+            Assertions.assertEquals(expected.getSum(), summary.getSum());
+            Assertions.assertEquals(expected.getMax(), summary.getMax());
+            Assertions.assertEquals(expected.getAverage(), summary.getMean(), 1.0e-12);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void resultsDoNotDependOnParallelism()
+    {
+        MutableList<Person> people = PetAnalyticsBenchmark.generatePeople(20_000, 3L);
+        PetAnalytics serial = new PetAnalytics(people, new ForkJoinPool(1), people.size());
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try
+        {
+            PetAnalytics parallel = new PetAnalytics(people, pool, 97);
+
+            Assertions.assertEquals(serial.countPetTypes(), parallel.countPetTypes());
+            Assertions.assertEquals(serial.countPeopleByPetType(), parallel.countPeopleByPetType());
+            Assertions.assertEquals(serial.topPetTypes(6), parallel.topPetTypes(6));
+            Assertions.assertEquals(serial.getPeopleByLastName(), parallel.getPeopleByLastName());
+            Assertions.assertEquals(people.groupBy(Person::getLastName), parallel.getPeopleByLastName());
+            Assertions.assertEquals(serial.countPeopleByLastName(), parallel.countPeopleByLastName());
+            Assertions.assertEquals(serial.getPetAgeCounts(), parallel.getPetAgeCounts());
+            Assertions.assertEquals(
+                    people.flatCollectInt(Person::getPetAges, IntLists.mutable.empty()).median(),
+                    parallel.getMedianPetAge(),
+                    0.0);
+            Assertions.assertEquals(serial.getPetAgeSummary().getVariance(),
+                    parallel.getPetAgeSummary().getVariance(), 1.0e-9);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new PetAnalytics(people, ForkJoinPool.commonPool(), 0));
+        Assertions.assertThrows(
+                ArithmeticException.class,
+                () -> new PetAnalytics(Lists.mutable.empty(), ForkJoinPool.commonPool(), 1).getMedianPetAge());
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach;
 public abstract class PetDomainForKata
 {
     protected MutableList<Person> people;
+    protected PersonRegistry registry;
 
     @BeforeEach
     public void setUp() throws Exception
@@ -35,10 +36,11 @@ public abstract class PetDomainForKata
                         .addPet(PetType.HAMSTER, "Wuzzy", 1),
                 new Person("John", "Doe")
         );
+        this.registry = PersonRegistry.of(this.people);
     }
 
     public Person getPersonNamed(String fullName)
     {
-        return this.people.detectWith(Person::named, fullName);
+        return this.registry.getPersonNamed(fullName);
     }
 }
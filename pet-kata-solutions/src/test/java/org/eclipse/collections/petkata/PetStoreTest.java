@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PetStoreTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void columnsHoldEveryRegisteredPet()
+    {
+        PetStore store = this.registry.getPetStore();
+        MutableList<Pet> pets = this.people.flatCollect(Person::getPets);
+
+        Assertions.assertEquals(pets.size(), store.size());
+        for (int row = 0; row < store.size(); row++)
+        {
+            Pet pet = pets.get(row);
+            Assertions.assertEquals(pet.getType(), store.getType(row));
+            Assertions.assertEquals(pet.getName(), store.getName(row));
+            Assertions.assertEquals(pet.getAge(), store.getAge(row));
+            Assertions.assertTrue(this.registry.getPerson(store.getOwnerId(row)).getPets()
+                    .anySatisfy(each -> each.getName().equals(pet.getName()) && each.getAge() == pet.getAge()));
+            Assertions.assertEquals(pet.getName(), store.getPet(row).getName());
+        }
+        Assertions.assertEquals(pets.collect(Pet::getName).distinct(), store.getNames());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void scansMatchObjectQueries()
+    {
+        PetStore store = this.registry.getPetStore();
+        MutableList<Pet> pets = this.people.flatCollect(Person::getPets);
+
+        Assertions.assertEquals(pets.countBy(Pet::getType), store.getPetTypes());
+        for (PetType petType : PetType.values())
+        {
+            MutableList<Pet> ofType = pets.select(pet -> pet.getType() == petType);
+            Assertions.assertEquals(ofType.size(), store.countOf(petType));
+            Assertions.assertEquals(ofType.collectInt(Pet::getAge, IntLists.mutable.empty()), store.getAgesOf(petType));
+            Assertions.assertEquals(ofType.collectInt(Pet::getAge).average(), store.averageAgeOf(petType), 0.0);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void registeredPeopleReadTheirPetsFromTheStore()
+    {
+        Person bob = this.getPersonNamed("Bob Smith");
+        PetStore store = this.registry.getPetStore();
+
+        Assertions.assertEquals(
+                Lists.mutable.with("Dolly", "Spot"),
+                bob.getPets().collect(Pet::getName));
+        Assertions.assertEquals(store.getPetTypesOf(bob.getId()), bob.getPetTypes());
+        Assertions.assertEquals(IntLists.mutable.with(3, 2), bob.getPetAges());
+        Assertions.assertNotSame(bob.getPets(), bob.getPets());
+
+        bob.addPet(PetType.SNAKE, "Slither", 1);
+        Assertions.assertEquals(
+                Lists.mutable.with("Dolly", "Spot", "Slither"),
+                bob.getPets().collect(Pet::getName));
+        Assertions.assertTrue(bob.hasPet(PetType.SNAKE));
+        Verify.assertEmpty(store.getPetsOf(this.getPersonNamed("John Doe").getId()));
+        Assertions.assertFalse(this.getPersonNamed("John Doe").isPetPerson());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addPetAppendsAndInternsNames()
+    {
+        PetStore store = this.registry.getPetStore();
+        int names = store.getNames().size();
+
+        Person john = this.getPersonNamed("John Doe");
+        john.addPet(PetType.DOG, "Spot", 7).addPet(PetType.DOG, "Rex", 1);
+
+        Assertions.assertEquals(11, store.size());
+        Assertions.assertEquals(names + 1, store.getNames().size(), "Spot is already in the dictionary");
+        Assertions.assertEquals(store.getNameId(2), store.getNameId(9));
+        Assertions.assertEquals(john.getId(), store.getOwnerId(10));
+        Assertions.assertEquals(4, store.countOf(PetType.DOG));
+        Assertions.assertEquals((2 + 4 + 7 + 1) / 4.0, store.averageAgeOf(PetType.DOG), 1.0e-12);
+        Assertions.assertThrows(ArithmeticException.class, () -> new PetStore().averageAgeOf(PetType.CAT));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.katasupport.EnumBag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PetTypeBitmapTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void hasPetUsesMask()
+    {
+        Person bob = this.getPersonNamed("Bob Smith");
+        Assertions.assertTrue(bob.hasPet(PetType.CAT));
+        Assertions.assertTrue(bob.hasPet(PetType.DOG));
+        Assertions.assertFalse(bob.hasPet(PetType.SNAKE));
+        Assertions.assertEquals(PetType.CAT.bit() | PetType.DOG.bit(), bob.getPetTypeMask());
+        Assertions.assertEquals(0, this.getPersonNamed("John Doe").getPetTypeMask());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> bob.getPetsView().clear());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void getPetTypesUsesEnumBag()
+    {
+        Bag<PetType> petTypes = this.getPersonNamed("Harry Hamster").getPetTypes();
+        Verify.assertInstanceOf(EnumBag.class, petTypes);
+        Assertions.assertEquals(Bags.mutable.withOccurrences(PetType.HAMSTER, 2), petTypes);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addPetUpdatesMask()
+    {
+        Person john = new Person("John", "Doe");
+        Assertions.assertFalse(john.hasPet(PetType.TURTLE));
+        john.addPet(PetType.TURTLE, "Speedy", 3).addPet(PetType.TURTLE, "Shelly", 5).addPet(PetType.BIRD, "Tweety", 2);
+        Assertions.assertTrue(john.hasPet(PetType.TURTLE));
+        Assertions.assertTrue(john.hasPet(PetType.BIRD));
+        Assertions.assertFalse(john.hasPet(PetType.CAT));
+        Assertions.assertEquals(PetType.TURTLE.bit() | PetType.BIRD.bit(), john.getPetTypeMask());
+        Assertions.assertEquals(john.getPets(), john.getPetsView());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void bitmapQueriesMatchScans()
+    {
+        for (PetType petType : PetType.values())
+        {
+            MutableList<Person> expected = this.people.select(person -> person.hasPet(petType));
+            Assertions.assertEquals(expected, this.registry.getPeopleWith(petType));
+            Assertions.assertEquals(expected.size(), this.registry.countPeopleWith(petType));
+        }
+        Assertions.assertEquals(2, this.registry.countPeopleWith(PetType.CAT));
+        Assertions.assertEquals(
+                Lists.mutable.with(this.getPersonNamed("Mary Smith")),
+                this.registry.getPeopleWithButNot(PetType.CAT, PetType.DOG));
+        Assertions.assertEquals(1, this.registry.countPeopleWithButNot(PetType.DOG, PetType.CAT));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addingPetsUpdatesBitmaps()
+    {
+        PersonRegistry registry = new PersonRegistry();
+        Interval.zeroTo(199).each(i -> registry.register(new Person("First" + i, "Last")));
+        Interval.zeroTo(199).each(i ->
+        {
+            if (i % 3 == 0)
+            {
+                registry.getPerson(i).addPet(PetType.BIRD, "Polly" + i, 1);
+            }
+            if (i % 5 == 0)
+            {
+                registry.getPerson(i).addPet(PetType.SNAKE, "Hiss" + i, 2);
+            }
+        });
+
+        Assertions.assertEquals(67, registry.countPeopleWith(PetType.BIRD));
+        Assertions.assertEquals(40, registry.countPeopleWith(PetType.SNAKE));
+        Assertions.assertEquals(67 - 14, registry.countPeopleWithButNot(PetType.BIRD, PetType.SNAKE));
+        MutableList<Person> birdsNotSnakes = registry.getPeopleWithButNot(PetType.BIRD, PetType.SNAKE);
+        Verify.assertSize(53, birdsNotSnakes);
+        Assertions.assertTrue(birdsNotSnakes.allSatisfy(
+                person -> person.hasPet(PetType.BIRD) && !person.hasPet(PetType.SNAKE)));
+        Assertions.assertEquals("First3", birdsNotSnakes.getFirst().getFirstName());
+        Assertions.assertEquals("First198", birdsNotSnakes.getLast().getFirstName());
+        Assertions.assertEquals(
+                registry.getPeopleWith(PetType.SNAKE).toSet(),
+                registry.getPetOwners(PetType.SNAKE));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void petOwnersAreMaintainedOnAddPet()
+    {
+        Person harry = this.getPersonNamed("Harry Hamster");
+        Assertions.assertEquals(Sets.mutable.with(harry), this.registry.getPetOwners(PetType.HAMSTER));
+        Verify.assertEmpty(this.registry.getPetOwners(PetType.HAMSTER).select(person -> person != harry));
+
+        Person john = this.getPersonNamed("John Doe");
+        john.addPet(PetType.HAMSTER, "Squeak", 1);
+        Assertions.assertEquals(Sets.mutable.with(harry, john), this.registry.getPetOwners(PetType.HAMSTER));
+        Assertions.assertEquals(9, this.registry.getPeopleByPetType().size());
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> ((MutableSet<Person>) this.registry.getPetOwners(PetType.CAT)).clear());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class RadixIndexTest extends PetDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void peopleAndPetsByPrefix()
+    {
+        Assertions.assertEquals(
+                Lists.mutable.with("Mary", "Bob", "Ted"),
+                this.registry.getPeopleWithLastNamePrefix("Sm").collect(Person::getFirstName));
+        Assertions.assertEquals(
+                Lists.mutable.with("Mary", "Bob", "Ted", "Jake"),
+                this.registry.getPeopleWithLastNamePrefix("S").collect(Person::getFirstName));
+        Assertions.assertEquals(
+                this.people.toSortedListBy(Person::getLastName),
+                this.registry.getPeopleWithLastNamePrefix(""));
+        Verify.assertEmpty(this.registry.getPeopleWithLastNamePrefix("Smithers"));
+        Assertions.assertEquals(
+                Lists.mutable.with("Jake", "John"),
+                this.registry.getPeopleWithFirstNamePrefix("J").collect(Person::getFirstName));
+
+        Assertions.assertEquals(
+                Lists.mutable.with("Speedy", "Spike", "Spot"),
+                this.registry.getPetNamesWithPrefix("Sp"));
+        PetStore store = this.registry.getPetStore();
+        Assertions.assertEquals(
+                Lists.mutable.with("Speedy", "Spike", "Spot"),
+                this.registry.getPetRowsWithNamePrefix("Sp").collect(store::getName, Lists.mutable.empty()));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void addPetAndRegisterUpdateTheIndexes()
+    {
+        this.getPersonNamed("John Doe").addPet(PetType.DOG, "Sparky", 3);
+        this.registry.register(new Person("Sam", "Smart"));
+
+        Assertions.assertEquals(
+                Lists.mutable.with("Sparky", "Speedy", "Spike", "Spot"),
+                this.registry.getPetNamesWithPrefix("Sp"));
+        Assertions.assertEquals(
+                Lists.mutable.with("Sam", "Mary", "Bob", "Ted"),
+                this.registry.getPeopleWithLastNamePrefix("Sm").collect(Person::getFirstName));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void splitsEdgesAndKeepsOrder()
+    {
+        RadixIndex index = new RadixIndex();
+        index.add("Tabby", 0);
+        index.add("Ta", 1);
+        index.add("Tab", 2);
+        index.add("Tabby", 3);
+        index.add("Toby", 4);
+        index.add("", 5);
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(IntLists.mutable.with(0, 3), index.getIds("Tabby"));
+        Verify.assertEmpty(index.getIds("Tabb"));
+        Verify.assertEmpty(index.getIds("T"));
+        Assertions.assertEquals(IntLists.mutable.with(5), index.getIds(""));
+        Assertions.assertEquals(Lists.mutable.with("Ta", "Tab", "Tabby"), index.getKeysWithPrefix("Ta"));
+        Assertions.assertEquals(Lists.mutable.with("Tabby"), index.getKeysWithPrefix("Tabb"));
+        Assertions.assertEquals(IntLists.mutable.with(1, 2, 0, 3, 4), index.getIdsWithPrefix("T"));
+        Verify.assertEmpty(index.getKeysWithPrefix("Tx"));
+        Verify.assertEmpty(index.getKeysWithPrefix("Tabbyz"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void matchesSortedMap()
+    {
+        SplittableRandom random = new SplittableRandom(5L);
+        RadixIndex index = new RadixIndex();
+        TreeMap<String, MutableIntList> expected = new TreeMap<>();
+        for (int id = 0; id < 5_000; id++)
+        {
+            StringBuilder key = new StringBuilder();
+            int length = random.nextInt(7);
+            for (int i = 0; i < length; i++)
+            {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+            index.add(key.toString(), id);
+            expected.computeIfAbsent(key.toString(), each -> IntLists.mutable.empty()).add(id);
+        }
+
+        Assertions.assertEquals(expected.size(), index.size());
+        for (String prefix : new String[]{"", "a", "bc", "dab", "ccc", "abcd", "dddddd", "e"})
+        {
+            MutableIntList ids = IntLists.mutable.empty();
+            expected.subMap(prefix, prefix + Character.MAX_VALUE).values().forEach(ids::addAll);
+            Assertions.assertEquals(
+                    Lists.mutable.withAll(expected.subMap(prefix, prefix + Character.MAX_VALUE).keySet()),
+                    index.getKeysWithPrefix(prefix));
+            Assertions.assertEquals(ids, index.getIdsWithPrefix(prefix));
+        }
+        expected.forEach((key, ids) -> Assertions.assertEquals(ids, index.getIds(key)));
+    }
+}